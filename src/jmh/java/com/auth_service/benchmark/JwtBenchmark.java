@@ -0,0 +1,73 @@
+package com.auth_service.benchmark;
+
+import com.auth_service.common.util.jwt.JwtUtilImpl;
+import com.auth_service.common.util.jwt.RefreshGrant;
+import com.auth_service.model.constants.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.GeneralSecurityException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtBenchmark class. Measures token signing and verification through
+ * {@link JwtUtilImpl}, without the verified token cache so every call parses and
+ * verifies the signature. Runs once with the HS512 secret and once with an ES256 key pair
+ * to compare the cost of symmetric and asymmetric signing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+	@Param({ "HS512", "ES256" })
+	public String algorithm;
+
+	private JwtUtilImpl jwtUtil;
+
+	private RefreshGrant refreshGrant;
+
+	private String accessToken;
+
+	@Setup
+	public void setUp() throws GeneralSecurityException {
+		JwtFixtures.configureSecret(algorithm);
+		jwtUtil = JwtFixtures.jwtUtil();
+		refreshGrant = new RefreshGrant(UUID.randomUUID(), UUID.randomUUID(), jwtUtil.refreshTokenExpiresAt());
+		accessToken = jwtUtil.generateToken(JwtFixtures.USER_ID, JwtFixtures.USERNAME, Role.USER);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtil.generateToken(JwtFixtures.USER_ID, JwtFixtures.USERNAME, Role.USER);
+	}
+
+	@Benchmark
+	public String refreshToken() {
+		return jwtUtil.refreshToken(JwtFixtures.USER_ID, JwtFixtures.USERNAME, Role.USER, refreshGrant);
+	}
+
+	@Benchmark
+	public boolean validateToken() {
+		return jwtUtil.validateToken(accessToken, JwtFixtures.USERNAME);
+	}
+
+	@Benchmark
+	public Role extractRole() {
+		return jwtUtil.extractRole(accessToken);
+	}
+
+}
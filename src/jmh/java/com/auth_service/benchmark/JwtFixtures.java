@@ -0,0 +1,133 @@
+package com.auth_service.benchmark;
+
+import com.auth_service.common.util.jwt.JwtTokenEngine;
+import com.auth_service.common.util.jwt.JwtUtilImpl;
+import com.auth_service.common.util.jwt.TokenDenylist;
+import com.auth_service.common.util.jwt.TokenVersionRegistry;
+import com.auth_service.common.util.jwt.VerifiedTokenCache;
+import com.auth_service.repository.AccessTokenRevocationRepository;
+import com.auth_service.repository.UserTokenVersionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtFixtures class. Builds the JWT components outside of Spring, configured through the
+ * same system properties the AWS Secrets Manager configuration sets at startup.
+ */
+final class JwtFixtures {
+
+	static final long USER_ID = 42L;
+
+	static final String USERNAME = "benchmark.user";
+
+	private static final String EC_KEY_ID = "benchmark-ec";
+
+	private JwtFixtures() {
+	}
+
+	/**
+	 * @description Sets a random HS512 secret and one hour token validities.
+	 */
+	static void configureSecret() {
+		byte[] secret = new byte[64];
+		new SecureRandom().nextBytes(secret);
+		System.setProperty("JWT_SECRET", Base64.getEncoder().encodeToString(secret));
+		System.setProperty("AUTH_SERVICE_ACCESS_TOKEN_VALIDITY", String.valueOf(TimeUnit.HOURS.toSeconds(1)));
+		System.setProperty("AUTH_SERVICE_REFRESH_TOKEN_VALIDITY", String.valueOf(TimeUnit.HOURS.toSeconds(1)));
+		System.clearProperty("JWT_EC_KEYS");
+		System.clearProperty("JWT_ACTIVE_KEY_ID");
+	}
+
+	/**
+	 * @description Sets the secrets for the given signing algorithm: HS512 signs with the
+	 * random secret, ES256 with a freshly generated P-256 key pair made the active key.
+	 * @param algorithm {@code HS512} or {@code ES256}
+	 * @throws GeneralSecurityException if the key pair cannot be generated
+	 */
+	static void configureSecret(String algorithm) throws GeneralSecurityException {
+		configureSecret();
+		if (!"ES256".equals(algorithm)) {
+			return;
+		}
+
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+		generator.initialize(new ECGenParameterSpec("secp256r1"));
+		KeyPair keyPair = generator.generateKeyPair();
+		Base64.Encoder encoder = Base64.getEncoder();
+		System.setProperty("JWT_EC_KEYS",
+				"{\"" + EC_KEY_ID + "\": {\"public\": \"" + encoder.encodeToString(keyPair.getPublic().getEncoded())
+						+ "\", \"private\": \"" + encoder.encodeToString(keyPair.getPrivate().getEncoded()) + "\"}}");
+		System.setProperty("JWT_ACTIVE_KEY_ID", EC_KEY_ID);
+	}
+
+	/**
+	 * @description Creates the verified token cache.
+	 * @param enabled whether verified tokens are cached
+	 * @param meterRegistry the meter registry
+	 * @return the verified token cache
+	 */
+	static VerifiedTokenCache verifiedTokenCache(boolean enabled, MeterRegistry meterRegistry) {
+		return new VerifiedTokenCache(enabled, 10_000, meterRegistry);
+	}
+
+	/**
+	 * @description Creates the JWT utility on top of an initialized token engine.
+	 * @param verifiedTokenCache the verified token cache cleared on key changes
+	 * @param meterRegistry the meter registry
+	 * @return the JWT utility
+	 */
+	static JwtUtilImpl jwtUtil(VerifiedTokenCache verifiedTokenCache, MeterRegistry meterRegistry) {
+		JwtTokenEngine tokenEngine = new JwtTokenEngine(verifiedTokenCache);
+		tokenEngine.init();
+		return new JwtUtilImpl(tokenEngine, tokenVersionRegistry(), meterRegistry);
+	}
+
+	/**
+	 * @description Creates an empty token denylist backed by a temporary filter file, with
+	 * a repository stub holding no revocations.
+	 * @return the token denylist
+	 * @throws IOException if the filter file cannot be created
+	 */
+	static TokenDenylist tokenDenylist() throws IOException {
+		Path filterPath = Files.createTempFile("token-denylist", ".bloom");
+		filterPath.toFile().deleteOnExit();
+		TokenDenylist tokenDenylist = new TokenDenylist(Mockito.mock(AccessTokenRevocationRepository.class), null,
+				filterPath, 1_000_000, 0.001, 1000);
+		tokenDenylist.init();
+		return tokenDenylist;
+	}
+
+	/**
+	 * @description Creates a token version registry with a repository stub holding no
+	 * bumped versions.
+	 * @return the token version registry
+	 */
+	static TokenVersionRegistry tokenVersionRegistry() {
+		TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry(
+				Mockito.mock(UserTokenVersionRepository.class));
+		tokenVersionRegistry.init();
+		return tokenVersionRegistry;
+	}
+
+	/**
+	 * @description Creates the JWT utility with the verified token cache disabled.
+	 * @return the JWT utility
+	 */
+	static JwtUtilImpl jwtUtil() {
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		return jwtUtil(verifiedTokenCache(false, meterRegistry), meterRegistry);
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.auth_service.benchmark;
+
+import com.auth_service.common.util.jwt.JwtUtilImpl;
+import com.auth_service.common.util.jwt.TokenDenylist;
+import com.auth_service.common.util.jwt.VerifiedTokenCache;
+import com.auth_service.filter.JwtRequestFilter;
+import com.auth_service.model.constants.Role;
+import com.auth_service.model.security.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtRequestFilterBenchmark class. Measures a request carrying a valid bearer token
+ * through {@link JwtRequestFilter}, with and without the verified token cache and the
+ * stateless principal, including the token version and denylist checks. The user details service answers
+ * from memory, so the figures exclude the database lookup the stateful mode performs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+	@Param({ "false", "true" })
+	private boolean cacheEnabled;
+
+	@Param({ "false", "true" })
+	private boolean statelessPrincipal;
+
+	private JwtRequestFilter filter;
+
+	private String authorization;
+
+	@Setup
+	public void setUp() throws IOException {
+		JwtFixtures.configureSecret();
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		VerifiedTokenCache verifiedTokenCache = JwtFixtures.verifiedTokenCache(cacheEnabled, meterRegistry);
+		JwtUtilImpl jwtUtil = JwtFixtures.jwtUtil(verifiedTokenCache, meterRegistry);
+		UserDetailsService userDetailsService = userName -> new AuthenticatedUser(JwtFixtures.USER_ID, userName,
+				Role.USER, true);
+
+		filter = new JwtRequestFilter(jwtUtil, userDetailsService, verifiedTokenCache, JwtFixtures.tokenDenylist(),
+				JwtFixtures.tokenVersionRegistry(), statelessPrincipal, meterRegistry);
+		authorization = "Bearer " + jwtUtil.generateToken(JwtFixtures.USER_ID, JwtFixtures.USERNAME, Role.USER);
+	}
+
+	@Benchmark
+	public MockHttpServletResponse authenticatedRequest() throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+		request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		try {
+			filter.doFilter(request, response, new MockFilterChain());
+		}
+		finally {
+			SecurityContextHolder.clearContext();
+		}
+		return response;
+	}
+
+}
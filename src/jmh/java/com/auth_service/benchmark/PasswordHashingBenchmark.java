@@ -0,0 +1,55 @@
+package com.auth_service.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PasswordHashingBenchmark class. Measures {@link BCryptPasswordEncoder} encoding and
+ * matching at the costs the hashing calibration typically chooses between.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+	private static final String PASSWORD = "correct-horse-battery-staple";
+
+	@Param({ "10", "12", "14" })
+	private int cost;
+
+	private BCryptPasswordEncoder passwordEncoder;
+
+	private String encodedPassword;
+
+	@Setup
+	public void setUp() {
+		passwordEncoder = new BCryptPasswordEncoder(cost);
+		encodedPassword = passwordEncoder.encode(PASSWORD);
+	}
+
+	@Benchmark
+	public String encode() {
+		return passwordEncoder.encode(PASSWORD);
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return passwordEncoder.matches(PASSWORD, encodedPassword);
+	}
+
+}
@@ -2,13 +2,13 @@ package com.auth_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * AuthServiceApplication class. The main class of the application.
  */
 @SpringBootApplication
-@ComponentScan(basePackages = "com.auth_service")
+@EnableScheduling
 public class AuthServiceApplication {
 
 	public static void main(String[] args) {
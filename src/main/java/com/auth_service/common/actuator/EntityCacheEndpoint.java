@@ -0,0 +1,56 @@
+package com.auth_service.common.actuator;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * EntityCacheEndpoint class. Actuator endpoint exposing the Hibernate second-level cache
+ * statistics per region, along with the query cache counters. The counters stay at zero
+ * unless Hibernate statistics are enabled.
+ */
+@Component
+@Endpoint(id = "entitycache")
+public class EntityCacheEndpoint {
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	public EntityCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	/**
+	 * Reads the cache statistics.
+	 * @return the statistics of every cache region
+	 */
+	@ReadOperation
+	public Map<String, Object> cacheStatistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+
+		Map<String, Object> regions = new LinkedHashMap<>();
+		for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+			CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(regionName);
+			if (region == null) {
+				continue;
+			}
+			regions.put(regionName, Map.of("hits", region.getHitCount(), "misses", region.getMissCount(), "puts",
+					region.getPutCount(), "elementsInMemory", region.getElementCountInMemory()));
+		}
+		result.put("regions", regions);
+
+		result.put("queryCache", Map.of("hits", statistics.getQueryCacheHitCount(), "misses",
+				statistics.getQueryCacheMissCount(), "puts", statistics.getQueryCachePutCount()));
+
+		return result;
+	}
+
+}
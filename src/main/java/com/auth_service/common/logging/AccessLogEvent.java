@@ -0,0 +1,11 @@
+package com.auth_service.common.logging;
+
+import java.util.Map;
+
+/**
+ * AccessLogEvent record. What is known about one completed request, captured on the
+ * request thread and formatted later by the access log writer.
+ */
+public record AccessLogEvent(long timestampMillis, String method, String path, int status, long latencyMicros,
+		String remoteAddress, Map<String, String> headers) {
+}
@@ -0,0 +1,154 @@
+package com.auth_service.common.logging;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AccessLogWriter class. Decouples access logging from the request threads: events are
+ * published to a lock-free ring buffer and a single background thread formats them as
+ * JSON lines and writes them to the {@code ACCESS_LOG} logger. When the buffer is full,
+ * events are dropped and counted rather than slowing requests down.
+ */
+@Component
+public class AccessLogWriter {
+
+	private static final Logger accessLogger = LoggerFactory.getLogger("ACCESS_LOG");
+
+	private static final Logger logger = LoggerFactory.getLogger(AccessLogWriter.class);
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	/**
+	 * The longest the writer thread sleeps when the buffer is empty. Publishers wake it
+	 * up, so this only bounds the delay should a wake-up be missed.
+	 */
+	private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final MpscRingBuffer<AccessLogEvent> buffer;
+
+	private final Counter droppedCounter;
+
+	private final Thread writerThread;
+
+	private volatile boolean running = true;
+
+	/**
+	 * Whether the writer thread found the buffer empty and is about to sleep or sleeping.
+	 */
+	private volatile boolean idle;
+
+	public AccessLogWriter(@Value("${auth.access-log.buffer-size}") int bufferSize, MeterRegistry meterRegistry) {
+		this.buffer = new MpscRingBuffer<>(bufferSize);
+		this.droppedCounter = Counter.builder("auth.access.log.dropped")
+				.description("Access log events dropped because the buffer was full").register(meterRegistry);
+		this.writerThread = new Thread(this::drainLoop, "access-log-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * @description Publishes an event without blocking. Safe to call from any thread.
+	 * Wakes the writer thread if it is sleeping.
+	 * @param event the event to log
+	 */
+	public void publish(AccessLogEvent event) {
+		if (!buffer.offer(event)) {
+			droppedCounter.increment();
+		}
+		else if (idle) {
+			LockSupport.unpark(writerThread);
+		}
+	}
+
+	/**
+	 * @description Stops the writer thread once the events already published are written.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		running = false;
+		LockSupport.unpark(writerThread);
+		try {
+			writerThread.join(TimeUnit.SECONDS.toMillis(5));
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @description Writes events until the writer is stopped, sleeping until the next
+	 * publish whenever the buffer is empty. The buffer is drained once more after
+	 * announcing the sleep, so an event published in between is not left waiting.
+	 */
+	private void drainLoop() {
+		while (running) {
+			if (!drain()) {
+				idle = true;
+				if (!drain() && running) {
+					LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+				}
+				idle = false;
+			}
+		}
+		drain();
+	}
+
+	/**
+	 * @description Writes every event currently in the buffer.
+	 * @return true if at least one event was written
+	 */
+	private boolean drain() {
+		boolean written = false;
+		AccessLogEvent event;
+		while ((event = buffer.poll()) != null) {
+			write(event);
+			written = true;
+		}
+		return written;
+	}
+
+	/**
+	 * @description Formats an event as one JSON line and logs it.
+	 * @param event the event to write
+	 */
+	private void write(AccessLogEvent event) {
+		StringWriter line = new StringWriter(256);
+		try (JsonGenerator json = JSON_FACTORY.createGenerator(line)) {
+			json.writeStartObject();
+			json.writeStringField("ts", Instant.ofEpochMilli(event.timestampMillis()).toString());
+			json.writeStringField("method", event.method());
+			json.writeStringField("path", event.path());
+			json.writeNumberField("status", event.status());
+			json.writeNumberField("latency_us", event.latencyMicros());
+			json.writeStringField("remote", event.remoteAddress());
+			if (!event.headers().isEmpty()) {
+				json.writeObjectFieldStart("headers");
+				for (Map.Entry<String, String> header : event.headers().entrySet()) {
+					json.writeStringField(header.getKey(), header.getValue());
+				}
+				json.writeEndObject();
+			}
+			json.writeEndObject();
+		}
+		catch (IOException e) {
+			logger.warn("Failed to format access log event", e);
+			return;
+		}
+		accessLogger.info(line.toString());
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.auth_service.common.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * MpscRingBuffer class. Bounded, lock-free queue for many producers and a single
+ * consumer. Each slot carries a sequence number telling producers and the consumer whose
+ * turn it is, so neither side ever blocks: a producer that finds the buffer full gets
+ * false back immediately.
+ *
+ * @param <E> The type of the elements.
+ */
+public final class MpscRingBuffer<E> {
+
+	private final int mask;
+
+	private final AtomicLongArray sequences;
+
+	private final AtomicReferenceArray<E> elements;
+
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * The next position to consume. Only read and written by the consumer thread.
+	 */
+	private long head;
+
+	/**
+	 * @param capacity the number of slots, rounded up to a power of two
+	 */
+	public MpscRingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+		this.mask = size - 1;
+		this.sequences = new AtomicLongArray(size);
+		this.elements = new AtomicReferenceArray<>(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * @description Adds an element if a slot is free. Safe to call from any thread.
+	 * @param element the element to add
+	 * @return true if the element was added, false if the buffer is full
+	 */
+	public boolean offer(E element) {
+		while (true) {
+			long position = tail.get();
+			int index = (int) position & mask;
+			long difference = sequences.get(index) - position;
+
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					elements.lazySet(index, element);
+					sequences.set(index, position + 1);
+					return true;
+				}
+			}
+			else if (difference < 0) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * @description Removes the oldest element. Must only be called from the consumer
+	 * thread.
+	 * @return the element, or null if the buffer is empty
+	 */
+	public E poll() {
+		int index = (int) head & mask;
+		if (sequences.get(index) != head + 1) {
+			return null;
+		}
+
+		E element = elements.get(index);
+		elements.lazySet(index, null);
+		sequences.set(index, head + mask + 1);
+		head++;
+		return element;
+	}
+
+	/**
+	 * @description Gets the number of slots of the buffer.
+	 * @return the capacity
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.auth_service.common.util.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JwkSet record. The public signing keys rendered once as a JSON Web Key Set (RFC 7517),
+ * with an entity tag derived from the rendered document so clients can revalidate their
+ * cached copy cheaply.
+ */
+public record JwkSet(String json, String etag) {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	/**
+	 * The length in bytes of a P-256 coordinate.
+	 */
+	private static final int COORDINATE_LENGTH = 32;
+
+	/**
+	 * @description Renders the key set of the given public keys, ordered by key id so the
+	 * same keys always produce the same document and entity tag.
+	 * @param publicKeys the key ids and their P-256 public keys
+	 * @return the key set
+	 */
+	public static JwkSet of(Map<String, ECPublicKey> publicKeys) {
+		List<Map<String, String>> keys = new ArrayList<>();
+		for (Map.Entry<String, ECPublicKey> publicKey : new TreeMap<>(publicKeys).entrySet()) {
+			Map<String, String> jwk = new LinkedHashMap<>();
+			jwk.put("kty", "EC");
+			jwk.put("crv", "P-256");
+			jwk.put("kid", publicKey.getKey());
+			jwk.put("use", "sig");
+			jwk.put("alg", "ES256");
+			jwk.put("x", encodeCoordinate(publicKey.getValue().getW().getAffineX()));
+			jwk.put("y", encodeCoordinate(publicKey.getValue().getW().getAffineY()));
+			keys.add(jwk);
+		}
+
+		try {
+			String json = OBJECT_MAPPER.writeValueAsString(Map.of("keys", keys));
+			return new JwkSet(json, "\"" + digest(json) + "\"");
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @description Encodes a curve coordinate as a fixed length, unsigned, Base64url
+	 * value.
+	 * @param coordinate the coordinate
+	 * @return the encoded coordinate
+	 */
+	private static String encodeCoordinate(BigInteger coordinate) {
+		byte[] bytes = coordinate.toByteArray();
+		byte[] padded = new byte[COORDINATE_LENGTH];
+		int length = Math.min(bytes.length, COORDINATE_LENGTH);
+		System.arraycopy(bytes, bytes.length - length, padded, COORDINATE_LENGTH - length, length);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+	}
+
+	/**
+	 * @description Computes the Base64url encoded SHA-256 digest of the document.
+	 * @param json the rendered key set
+	 * @return the digest
+	 */
+	private static String digest(String json) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			byte[] digest = messageDigest.digest(json.getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
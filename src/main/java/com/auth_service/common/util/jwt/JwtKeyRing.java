@@ -0,0 +1,216 @@
+package com.auth_service.common.util.jwt;
+
+import com.auth_service.exception.InvalidAwsSecretValueException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * JwtKeyRing class. Immutable set of keys indexed by their key id ({@code kid}): one
+ * active key used for signing and any number of keys that are only accepted for
+ * verification. Keys are either HMAC secrets (HS512) or P-256 key pairs (ES256), whose
+ * public halves are published so other services can verify tokens themselves. Tokens
+ * without a key id are verified with the legacy secret.
+ */
+public final class JwtKeyRing {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	/**
+	 * The field size in bits of the P-256 curve used by ES256.
+	 */
+	private static final int P256_FIELD_SIZE = 256;
+
+	private final Key legacyKey;
+
+	private final Map<String, Key> keys;
+
+	private final Map<String, ECPublicKey> publicKeys;
+
+	private final String activeKeyId;
+
+	private final Key activeKey;
+
+	private final SignatureAlgorithm activeAlgorithm;
+
+	private JwtKeyRing(Key legacyKey, Map<String, Key> keys, Map<String, ECPublicKey> publicKeys, String activeKeyId,
+			Key activeKey) {
+		this.legacyKey = legacyKey;
+		this.keys = keys;
+		this.publicKeys = publicKeys;
+		this.activeKeyId = activeKeyId;
+		this.activeKey = activeKey;
+		this.activeAlgorithm = activeKey instanceof PrivateKey ? SignatureAlgorithm.ES256 : SignatureAlgorithm.HS512;
+	}
+
+	/**
+	 * @description Builds the key ring from the secret values.
+	 * @param legacySecret the Base64 encoded secret used by tokens without a key id
+	 * @param keysJson a JSON object mapping key ids to Base64 encoded secrets, or null
+	 * @param ecKeysJson a JSON object mapping key ids to P-256 key pairs, or null
+	 * @param activeKeyId the id of the key used for signing, or null to sign with the
+	 * legacy secret
+	 * @return the key ring
+	 */
+	public static JwtKeyRing of(String legacySecret, String keysJson, String ecKeysJson, String activeKeyId) {
+		Key legacyKey = decodeKey(legacySecret);
+		Map<String, Key> keys = new HashMap<>(parseKeys(keysJson));
+		Map<String, ECPublicKey> publicKeys = new HashMap<>();
+		Map<String, PrivateKey> privateKeys = new HashMap<>();
+		parseEcKeys(ecKeysJson, publicKeys, privateKeys);
+
+		for (Map.Entry<String, ECPublicKey> publicKey : publicKeys.entrySet()) {
+			if (keys.putIfAbsent(publicKey.getKey(), publicKey.getValue()) != null) {
+				throw new InvalidAwsSecretValueException();
+			}
+		}
+
+		if (activeKeyId == null || activeKeyId.isEmpty()) {
+			return new JwtKeyRing(legacyKey, Map.copyOf(keys), Map.copyOf(publicKeys), null, legacyKey);
+		}
+
+		Key activeKey = publicKeys.containsKey(activeKeyId) ? privateKeys.get(activeKeyId) : keys.get(activeKeyId);
+		if (activeKey == null) {
+			throw new InvalidAwsSecretValueException();
+		}
+		return new JwtKeyRing(legacyKey, Map.copyOf(keys), Map.copyOf(publicKeys), activeKeyId, activeKey);
+	}
+
+	/**
+	 * @description Gets the id of the signing key.
+	 * @return the key id, or null when signing with the legacy secret
+	 */
+	public String getActiveKeyId() {
+		return activeKeyId;
+	}
+
+	/**
+	 * @description Gets the key used for signing new tokens.
+	 * @return the signing key
+	 */
+	public Key getActiveKey() {
+		return activeKey;
+	}
+
+	/**
+	 * @description Gets the algorithm of the signing key: ES256 for an EC key, HS512
+	 * otherwise.
+	 * @return the signature algorithm
+	 */
+	public SignatureAlgorithm getActiveAlgorithm() {
+		return activeAlgorithm;
+	}
+
+	/**
+	 * @description Gets the public keys, which may be shared with other services.
+	 * @return an immutable map of key ids to EC public keys
+	 */
+	public Map<String, ECPublicKey> getPublicKeys() {
+		return publicKeys;
+	}
+
+	/**
+	 * @description Finds the key that verifies tokens carrying the given key id.
+	 * @param keyId the key id from the token header, or null
+	 * @return the verification key, or null if the key id is unknown
+	 */
+	public Key findVerificationKey(String keyId) {
+		return keyId == null ? legacyKey : keys.get(keyId);
+	}
+
+	/**
+	 * @description Parses the key id to secret mapping.
+	 * @param keysJson the JSON object with the keys
+	 * @return an immutable map of key ids to keys
+	 */
+	private static Map<String, Key> parseKeys(String keysJson) {
+		if (keysJson == null || keysJson.isEmpty()) {
+			return Map.of();
+		}
+
+		try {
+			JsonNode node = OBJECT_MAPPER.readTree(keysJson);
+			Map<String, Key> keys = new HashMap<>();
+			Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				keys.put(field.getKey(), decodeKey(field.getValue().asText()));
+			}
+			return Map.copyOf(keys);
+		}
+		catch (JsonProcessingException e) {
+			throw new InvalidAwsSecretValueException();
+		}
+	}
+
+	/**
+	 * @description Parses the key id to P-256 key pair mapping. Each value holds the
+	 * Base64 encoded X.509 {@code public} key and, for keys that may sign, the Base64
+	 * encoded PKCS#8 {@code private} key.
+	 * @param ecKeysJson the JSON object with the key pairs
+	 * @param publicKeys the map receiving the public keys
+	 * @param privateKeys the map receiving the private keys
+	 */
+	private static void parseEcKeys(String ecKeysJson, Map<String, ECPublicKey> publicKeys,
+			Map<String, PrivateKey> privateKeys) {
+		if (ecKeysJson == null || ecKeysJson.isEmpty()) {
+			return;
+		}
+
+		try {
+			KeyFactory keyFactory = KeyFactory.getInstance("EC");
+			JsonNode node = OBJECT_MAPPER.readTree(ecKeysJson);
+			Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				String publicKey = field.getValue().path("public").asText(null);
+				String privateKey = field.getValue().path("private").asText(null);
+				if (publicKey == null) {
+					throw new InvalidAwsSecretValueException();
+				}
+
+				ECPublicKey ecPublicKey = (ECPublicKey) keyFactory
+						.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey)));
+				if (ecPublicKey.getParams().getCurve().getField().getFieldSize() != P256_FIELD_SIZE) {
+					throw new InvalidAwsSecretValueException();
+				}
+				publicKeys.put(field.getKey(), ecPublicKey);
+
+				if (privateKey != null) {
+					PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKey));
+					privateKeys.put(field.getKey(), keyFactory.generatePrivate(keySpec));
+				}
+			}
+		}
+		catch (JsonProcessingException | GeneralSecurityException | IllegalArgumentException | ClassCastException e) {
+			throw new InvalidAwsSecretValueException();
+		}
+	}
+
+	/**
+	 * @description Decodes a Base64 encoded HMAC secret.
+	 * @param secret the Base64 encoded secret
+	 * @return the HMAC key
+	 */
+	private static Key decodeKey(String secret) {
+		if (secret == null || secret.isEmpty()) {
+			throw new InvalidAwsSecretValueException();
+		}
+		return Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
+	}
+
+}
@@ -0,0 +1,173 @@
+package com.auth_service.common.util.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * JwtTokenEngine class. Holds the signing key ring and the immutable JWT parser, built
+ * once from the secret and rebuilt atomically only when the secret changes.
+ */
+@Component
+@DependsOn("awsSecretsManagerConfig")
+public class JwtTokenEngine {
+
+	/**
+	 * The system property holding the Base64 encoded legacy secret key.
+	 */
+	private static final String JWT_SECRET_PROPERTY = "JWT_SECRET";
+
+	/**
+	 * The system property holding the JSON object of key ids to Base64 encoded secrets.
+	 */
+	private static final String JWT_KEYS_PROPERTY = "JWT_KEYS";
+
+	/**
+	 * The system property holding the JSON object of key ids to P-256 key pairs.
+	 */
+	private static final String JWT_EC_KEYS_PROPERTY = "JWT_EC_KEYS";
+
+	/**
+	 * The system property holding the id of the key used for signing.
+	 */
+	private static final String JWT_ACTIVE_KEY_ID_PROPERTY = "JWT_ACTIVE_KEY_ID";
+
+	/**
+	 * The signing state currently in use.
+	 */
+	private final AtomicReference<SigningState> state = new AtomicReference<>();
+
+	/**
+	 * The cache of verified tokens, cleared whenever the key ring changes.
+	 */
+	private final VerifiedTokenCache verifiedTokenCache;
+
+	public JwtTokenEngine(VerifiedTokenCache verifiedTokenCache) {
+		this.verifiedTokenCache = verifiedTokenCache;
+	}
+
+	/**
+	 * @description Builds the key ring and the parser from the current secret.
+	 */
+	@PostConstruct
+	public void init() {
+		state.set(buildState(SecretValues.read()));
+	}
+
+	/**
+	 * @description Gets the shared parser. The parser is immutable and thread-safe.
+	 * @return the JWT parser
+	 */
+	public JwtParser parser() {
+		return current().parser();
+	}
+
+	/**
+	 * @description Gets the key set publishing the public halves of the EC keys.
+	 * @return the JSON Web Key Set
+	 */
+	public JwkSet jwkSet() {
+		return current().jwkSet();
+	}
+
+	/**
+	 * @description Creates a new JWT builder already configured with the active signing
+	 * key, its algorithm and its key id. Builders are not thread-safe, so a new one is
+	 * returned on every call.
+	 * @return the JWT builder
+	 */
+	public JwtBuilder builder() {
+		JwtKeyRing keyRing = current().keyRing();
+		JwtBuilder builder = Jwts.builder();
+
+		if (keyRing.getActiveKeyId() != null) {
+			builder.setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKeyId());
+		}
+
+		return builder.signWith(keyRing.getActiveKey(), keyRing.getActiveAlgorithm());
+	}
+
+	/**
+	 * @description Gets the current signing state, rebuilding it if the secret has been
+	 * changed since it was built.
+	 * @return the current signing state
+	 */
+	private SigningState current() {
+		SigningState current = state.get();
+		SecretValues values = SecretValues.read();
+
+		if (current != null && current.values().equals(values)) {
+			return current;
+		}
+
+		SigningState rebuilt = buildState(values);
+		if (state.compareAndSet(current, rebuilt)) {
+			verifiedTokenCache.invalidateAll();
+			return rebuilt;
+		}
+		return state.get();
+	}
+
+	/**
+	 * @description Builds the key ring and the parser for the given secret values.
+	 * @param values the secret values
+	 * @return the signing state
+	 */
+	private SigningState buildState(SecretValues values) {
+		JwtKeyRing keyRing = JwtKeyRing.of(values.secret(), values.keys(), values.ecKeys(), values.activeKeyId());
+		JwtParser parser = Jwts.parserBuilder().setSigningKeyResolver(new KeyRingResolver(keyRing)).build();
+		return new SigningState(values, keyRing, parser, JwkSet.of(keyRing.getPublicKeys()));
+	}
+
+	/**
+	 * SecretValues record. The raw secret values the signing state is built from.
+	 */
+	private record SecretValues(String secret, String keys, String ecKeys, String activeKeyId) {
+
+		static SecretValues read() {
+			return new SecretValues(System.getProperty(JWT_SECRET_PROPERTY), System.getProperty(JWT_KEYS_PROPERTY),
+					System.getProperty(JWT_EC_KEYS_PROPERTY), System.getProperty(JWT_ACTIVE_KEY_ID_PROPERTY));
+		}
+
+	}
+
+	/**
+	 * SigningState record. Immutable snapshot of the secret values, the key ring derived
+	 * from them, the parser verifying with that key ring and the published key set.
+	 */
+	private record SigningState(SecretValues values, JwtKeyRing keyRing, JwtParser parser, JwkSet jwkSet) {
+	}
+
+	/**
+	 * KeyRingResolver class. Selects the verification key from the token's key id.
+	 */
+	private static final class KeyRingResolver extends SigningKeyResolverAdapter {
+
+		private final JwtKeyRing keyRing;
+
+		KeyRingResolver(JwtKeyRing keyRing) {
+			this.keyRing = keyRing;
+		}
+
+		@Override
+		public Key resolveSigningKey(JwsHeader header, Claims claims) {
+			Key key = keyRing.findVerificationKey(header.getKeyId());
+			if (key == null) {
+				throw new SignatureException("Unknown JWT key id.");
+			}
+			return key;
+		}
+
+	}
+
+}
@@ -3,11 +3,19 @@ package com.auth_service.common.util.jwt;
 import com.auth_service.model.constants.Role;
 import io.jsonwebtoken.Claims;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.function.Function;
 
 public interface JwtUtil {
 
+	/**
+	 * @description Verifies the signature of the JWT token once and returns its claims.
+	 * @param token the JWT token
+	 * @return the verified token
+	 */
+	VerifiedToken verifyToken(String token);
+
 	/**
 	 * @description Extracts the username from the JWT token.
 	 * @param token the JWT token
@@ -33,20 +41,30 @@ public interface JwtUtil {
 	<T> T extractClaim(String token, Function<Claims, T> claimsResolver);
 
 	/**
-	 * @description Generates a new JWT token for the given username and role.
+	 * @description Generates a new JWT token for the given user.
+	 * @param userId the id of the user
 	 * @param username the username for which the token is generated
 	 * @param role the role of the user
 	 * @return the generated JWT token
 	 */
-	String generateToken(String username, Role role);
+	String generateToken(Long userId, String username, Role role);
 
 	/**
-	 * @description Generates a new refresh token for the given username and role.
+	 * @description Generates a new refresh token for the given user, carrying the family
+	 * and token ids of a grant registered in the refresh token store.
+	 * @param userId the id of the user
 	 * @param username the username for which the refresh token is generated
 	 * @param role the role of the user
+	 * @param grant the refresh grant the token is issued for
 	 * @return the generated refresh token
 	 */
-	String refreshToken(String username, Role role);
+	String refreshToken(Long userId, String username, Role role, RefreshGrant grant);
+
+	/**
+	 * @description Computes the expiration of a refresh token issued now.
+	 * @return the refresh token expiration
+	 */
+	Instant refreshTokenExpiresAt();
 
 	/**
 	 * @description Validates the JWT token against the given username.
@@ -57,7 +75,16 @@ public interface JwtUtil {
 	boolean validateToken(String token, String username);
 
 	/**
-	 * @description Validates the refresh token against the given username.
+	 * @description Validates an already verified JWT token against the given username.
+	 * @param token the verified JWT token
+	 * @param username the username to validate against
+	 * @return true if the token is valid, false otherwise
+	 */
+	boolean validateToken(VerifiedToken token, String username);
+
+	/**
+	 * @description Validates the refresh token against the given username. Access tokens
+	 * are rejected.
 	 * @param token the refresh token
 	 * @param username the username to validate against
 	 * @return true if the refresh token is valid, false otherwise
@@ -4,24 +4,33 @@ import com.auth_service.exception.InvalidAwsSecretValueException;
 import com.auth_service.exception.InvalidSignatureException;
 import com.auth_service.exception.InvalidJwtException;
 import com.auth_service.model.constants.Role;
+import com.auth_service.model.constants.TokenType;
 import io.jsonwebtoken.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Component;
-import io.jsonwebtoken.security.Keys;
 
-import java.security.Key;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @DependsOn("awsSecretsManagerConfig")
 public class JwtUtilImpl implements JwtUtil {
 
 	/**
-	 * The secret key used for signing the JWT tokens. It is fetched from the system
-	 * properties.
+	 * The token engine holding the prebuilt signing key and parser.
 	 */
-	private final String JWT_SECRET = System.getProperty("JWT_SECRET");
+	private final JwtTokenEngine tokenEngine;
+
+	/**
+	 * The registry of the users' token versions, stamped into every token.
+	 */
+	private final TokenVersionRegistry tokenVersionRegistry;
 
 	/**
 	 * The validity period of the access token in milliseconds.
@@ -33,43 +42,124 @@ public class JwtUtilImpl implements JwtUtil {
 	 */
 	private final String REFRESH_TOKEN_VALIDITY = System.getProperty("AUTH_SERVICE_REFRESH_TOKEN_VALIDITY");
 
+	/**
+	 * The time spent signing access tokens.
+	 */
+	private final Timer accessTokenTimer;
+
+	/**
+	 * The time spent signing refresh tokens.
+	 */
+	private final Timer refreshTokenTimer;
+
+	/**
+	 * The time spent verifying tokens, by verification outcome.
+	 */
+	private final Map<String, Timer> verifyTimers;
+
+	public JwtUtilImpl(JwtTokenEngine tokenEngine, TokenVersionRegistry tokenVersionRegistry,
+			MeterRegistry meterRegistry) {
+		this.tokenEngine = tokenEngine;
+		this.tokenVersionRegistry = tokenVersionRegistry;
+		this.accessTokenTimer = generateTimer(meterRegistry, "access");
+		this.refreshTokenTimer = generateTimer(meterRegistry, "refresh");
+		this.verifyTimers = Stream.of("valid", "expired", "invalid_signature", "invalid")
+				.collect(Collectors.toUnmodifiableMap(Function.identity(),
+						outcome -> Timer.builder("auth.jwt.verify")
+								.description("Time spent parsing and verifying JWT tokens").tag("outcome", outcome)
+								.register(meterRegistry)));
+	}
+
+	public VerifiedToken verifyToken(String token) {
+		long startedAt = System.nanoTime();
+		String outcome = "invalid";
+		try {
+			VerifiedToken verifiedToken = new VerifiedToken(extractAllClaims(token));
+			outcome = "valid";
+			return verifiedToken;
+		}
+		catch (ExpiredJwtException e) {
+			outcome = "expired";
+			throw e;
+		}
+		catch (SignatureException e) {
+			outcome = "invalid_signature";
+			throw new InvalidSignatureException();
+		}
+		catch (MalformedJwtException | UnsupportedJwtException e) {
+			throw new InvalidJwtException();
+		}
+		finally {
+			verifyTimers.get(outcome).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+		}
+	}
+
 	public String extractUsername(String token) {
-		return extractClaim(token, Claims::getSubject);
+		return verifyToken(token).getSubject();
 	}
 
 	public Date extractExpiration(String token) {
-		return extractClaim(token, Claims::getExpiration);
+		return verifyToken(token).getExpiration();
 	}
 
-	public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) throws MalformedJwtException {
-		final Claims claims = extractAllClaims(token);
-		return claimsResolver.apply(claims);
+	public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+		return claimsResolver.apply(verifyToken(token).getClaims());
 	}
 
-	public String generateToken(String username, Role role) {
+	public String generateToken(Long userId, String username, Role role) {
 		Map<String, Object> claims = new HashMap<>();
+		claims.put("uid", userId);
 		claims.put("role", role.name());
-		return createToken(claims, username, getAccessTokenValidity());
+		claims.put("typ", TokenType.ACCESS.name());
+		claims.put("ver", tokenVersionRegistry.current(userId));
+		return accessTokenTimer.record(() -> createToken(claims, username, getAccessTokenValidity()));
 	}
 
-	public String refreshToken(String username, Role role) {
+	public String refreshToken(Long userId, String username, Role role, RefreshGrant grant) {
 		Map<String, Object> claims = new HashMap<>();
+		claims.put("uid", userId);
 		claims.put("role", role.name());
-		return createToken(claims, username, getRefreshTokenValidity());
+		claims.put("typ", TokenType.REFRESH.name());
+		claims.put("ver", tokenVersionRegistry.current(userId));
+		claims.put("fid", grant.familyId().toString());
+		return refreshTokenTimer
+				.record(() -> createToken(claims, username, grant.tokenId().toString(), Date.from(grant.expiresAt())));
+	}
+
+	public Instant refreshTokenExpiresAt() {
+		long validity = getRefreshTokenValidity();
+		if (validity <= 0) {
+			validity = getAccessTokenValidity();
+		}
+		return Instant.now().plusSeconds(validity);
 	}
 
 	public boolean validateToken(String token, String username) {
-		final String extractedUsername = extractUsername(token);
-		return (extractedUsername.equals(username) && !isTokenExpired(token));
+		return validateToken(verifyToken(token), username);
+	}
+
+	public boolean validateToken(VerifiedToken token, String username) {
+		return token.isValidFor(username);
 	}
 
 	public boolean validateRefreshToken(String token, String username) {
-		final String extractedUsername = extractUsername(token);
-		return extractedUsername.equals(username);
+		VerifiedToken verifiedToken = verifyToken(token);
+		return verifiedToken.isRefreshToken() && verifiedToken.isValidFor(username);
 	}
 
 	public Role extractRole(String token) {
-		return Role.valueOf(extractClaim(token, claims -> claims.get("role", String.class)));
+		return verifyToken(token).getRole();
+	}
+
+	/**
+	 * @description Registers the timer of token generation for a token type.
+	 * @param meterRegistry the meter registry
+	 * @param type the token type
+	 * @return the timer
+	 */
+	private static Timer generateTimer(MeterRegistry meterRegistry, String type) {
+		return Timer.builder("auth.jwt.generate").description("Time spent building and signing JWT tokens")
+				.tag("type", type).register(meterRegistry);
 	}
 
 	/**
@@ -104,20 +194,12 @@ public class JwtUtilImpl implements JwtUtil {
 	 * @return the claims extracted from the token
 	 */
 	private Claims extractAllClaims(String token) {
-		return Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(token).getBody();
-	}
-
-	/**
-	 * @description Checks if the token is expired.
-	 * @param token the JWT token
-	 * @return true if the token is expired, false otherwise
-	 */
-	private boolean isTokenExpired(String token) {
-		return extractExpiration(token).before(new Date());
+		return tokenEngine.parser().parseClaimsJws(token).getBody();
 	}
 
 	/**
-	 * @description Creates a new JWT token.
+	 * @description Creates a new JWT token with a random token id, so it can be revoked
+	 * before it expires.
 	 * @param claims the claims to include in the token
 	 * @param subject the subject of the token
 	 * @param validity the validity period of the token
@@ -130,18 +212,22 @@ public class JwtUtilImpl implements JwtUtil {
 
 		validity = validity * 1000;
 
-		return Jwts.builder().setClaims(claims).setSubject(subject).setIssuedAt(new Date())
-				.setExpiration(new Date(System.currentTimeMillis() + validity))
-				.signWith(getSignInKey(), SignatureAlgorithm.HS512).compact();
+		long now = System.currentTimeMillis();
+		return tokenEngine.builder().setClaims(claims).setSubject(subject).setId(UUID.randomUUID().toString())
+				.setIssuedAt(new Date(now)).setExpiration(new Date(now + validity)).compact();
 	}
 
 	/**
-	 * @description Gets the signing key for the JWT token.
-	 * @return the signing key
+	 * @description Creates a new JWT token with a token id and a fixed expiration.
+	 * @param claims the claims to include in the token
+	 * @param subject the subject of the token
+	 * @param tokenId the id of the token
+	 * @param expiration the expiration of the token
+	 * @return the generated JWT token
 	 */
-	private Key getSignInKey() {
-		byte[] keyBytes = Base64.getDecoder().decode(JWT_SECRET);
-		return Keys.hmacShaKeyFor(keyBytes);
+	private String createToken(Map<String, Object> claims, String subject, String tokenId, Date expiration) {
+		return tokenEngine.builder().setClaims(claims).setSubject(subject).setId(tokenId).setIssuedAt(new Date())
+				.setExpiration(expiration).compact();
 	}
 
 }
\ No newline at end of file
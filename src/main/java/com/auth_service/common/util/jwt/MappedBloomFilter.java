@@ -0,0 +1,183 @@
+package com.auth_service.common.util.jwt;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * MappedBloomFilter class. Bloom filter of token ids whose bits live in a memory-mapped
+ * file, so lookups allocate nothing on the heap and the filter survives restarts. Bits
+ * are set with atomic OR operations, so any thread may add ids while others read.
+ * <p>
+ * The file starts with a header holding the filter dimensions, the number of ids added
+ * and a version chosen by the caller, followed by the bit array. A file whose dimensions
+ * do not match is reset.
+ */
+public final class MappedBloomFilter {
+
+	private static final int MAGIC = 0x424c4f4d;
+
+	private static final int MAGIC_OFFSET = 0;
+
+	private static final int HASH_COUNT_OFFSET = 4;
+
+	private static final int BIT_COUNT_OFFSET = 8;
+
+	private static final int VERSION_OFFSET = 16;
+
+	private static final int SIZE_OFFSET = 24;
+
+	private static final int HEADER_SIZE = 32;
+
+	private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+	private final MappedByteBuffer buffer;
+
+	private final long bitCount;
+
+	private final int hashCount;
+
+	private MappedBloomFilter(MappedByteBuffer buffer, long bitCount, int hashCount) {
+		this.buffer = buffer;
+		this.bitCount = bitCount;
+		this.hashCount = hashCount;
+	}
+
+	/**
+	 * @description Maps the filter file, creating or resetting it when it does not match
+	 * the requested dimensions.
+	 * @param path the filter file
+	 * @param expectedInsertions the number of ids the filter is sized for
+	 * @param falsePositiveRate the false positive rate at the expected insertions
+	 * @return the filter
+	 * @throws IOException if the file cannot be mapped
+	 */
+	public static MappedBloomFilter open(Path path, long expectedInsertions, double falsePositiveRate)
+			throws IOException {
+		long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		long bitCount = Math.max(64, (bits + 63) & ~63L);
+		int hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+		long fileSize = HEADER_SIZE + bitCount / Byte.SIZE;
+
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			boolean reset = channel.size() != fileSize;
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+			MappedBloomFilter filter = new MappedBloomFilter(buffer, bitCount, hashCount);
+			if (reset || buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(HASH_COUNT_OFFSET) != hashCount
+					|| buffer.getLong(BIT_COUNT_OFFSET) != bitCount) {
+				filter.clear();
+			}
+			return filter;
+		}
+	}
+
+	/**
+	 * @description Adds a token id. The size only grows when a bit was set, so adding an
+	 * id again, or one the filter already reports, does not count twice.
+	 * @param id the token id
+	 * @return true if a bit was set
+	 */
+	public boolean put(UUID id) {
+		long hash1 = id.getMostSignificantBits();
+		long hash2 = id.getLeastSignificantBits();
+		boolean changed = false;
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+			long word = (long) LONGS.getAndBitwiseOr(buffer, wordOffset(bit), 1L << bit);
+			changed |= (word & (1L << bit)) == 0;
+		}
+		if (changed) {
+			LONGS.getAndAdd(buffer, SIZE_OFFSET, 1L);
+		}
+		return changed;
+	}
+
+	/**
+	 * @description Checks whether a token id may have been added. A false result is
+	 * exact; a true result may be a false positive.
+	 * @param id the token id
+	 * @return false if the id was never added
+	 */
+	public boolean mightContain(UUID id) {
+		long hash1 = id.getMostSignificantBits();
+		long hash2 = id.getLeastSignificantBits();
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+			if (((long) LONGS.getAcquire(buffer, wordOffset(bit)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @description Gets the number of ids that set a bit since the filter was last
+	 * cleared. Ids lost to false positives are not counted.
+	 * @return the number of ids added
+	 */
+	public long size() {
+		return (long) LONGS.getAcquire(buffer, SIZE_OFFSET);
+	}
+
+	/**
+	 * @description Gets the version stored with the filter.
+	 * @return the version, 0 for a new filter
+	 */
+	public long getVersion() {
+		return (long) LONGS.getAcquire(buffer, VERSION_OFFSET);
+	}
+
+	/**
+	 * @description Stores a version with the filter, such as the position of the last
+	 * change it contains.
+	 * @param version the version
+	 */
+	public void setVersion(long version) {
+		LONGS.setRelease(buffer, VERSION_OFFSET, version);
+	}
+
+	/**
+	 * @description Removes every id and resets the version. Readers may see false
+	 * negatives until the ids are added again.
+	 */
+	public void clear() {
+		for (long offset = HEADER_SIZE; offset < buffer.capacity(); offset += Long.BYTES) {
+			LONGS.setRelease(buffer, (int) offset, 0L);
+		}
+		buffer.putInt(MAGIC_OFFSET, MAGIC);
+		buffer.putInt(HASH_COUNT_OFFSET, hashCount);
+		buffer.putLong(BIT_COUNT_OFFSET, bitCount);
+		LONGS.setRelease(buffer, VERSION_OFFSET, 0L);
+		LONGS.setRelease(buffer, SIZE_OFFSET, 0L);
+	}
+
+	/**
+	 * @description Writes the mapped pages to the file.
+	 */
+	public void force() {
+		buffer.force();
+	}
+
+	/**
+	 * @description Computes the offset of the word holding a bit.
+	 * @param bit the bit index
+	 * @return the byte offset of the word in the buffer
+	 */
+	private static int wordOffset(long bit) {
+		return HEADER_SIZE + (int) (bit >>> 6) * Long.BYTES;
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.auth_service.common.util.jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * RefreshGrant record. Identifies a refresh token registered in its family: the family
+ * id, the token id and the expiration written into the token.
+ */
+public record RefreshGrant(UUID familyId, UUID tokenId, Instant expiresAt) {
+}
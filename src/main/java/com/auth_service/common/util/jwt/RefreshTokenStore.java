@@ -0,0 +1,182 @@
+package com.auth_service.common.util.jwt;
+
+import com.auth_service.exception.InvalidCredentialsException;
+import com.auth_service.repository.RefreshTokenFamilyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * RefreshTokenStore class. Tracks refresh token families: every login opens a family, and
+ * each refresh replaces the family's current token with a new one. Presenting a token
+ * that is no longer current means it was reused, so the whole family is revoked.
+ * <p>
+ * A hot index keyed by family id holds the state this instance last saw, so revoked and
+ * expired families are rejected without touching the database. Rotation itself is a
+ * single conditional update, which decides whether the presented token is current without
+ * reading the row first. Expired families are purged in batches by a background sweep.
+ */
+@Component
+public class RefreshTokenStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(RefreshTokenStore.class);
+
+	private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final Cache<UUID, FamilyState> families;
+
+	private final int sweepBatchSize;
+
+	private final Counter reuseCounter;
+
+	public RefreshTokenStore(RefreshTokenFamilyRepository refreshTokenFamilyRepository,
+			TransactionTemplate transactionTemplate, @Value("${auth.refresh-token.cache.max-size}") long maxSize,
+			@Value("${auth.refresh-token.sweep.batch-size}") int sweepBatchSize, MeterRegistry meterRegistry) {
+		this.refreshTokenFamilyRepository = refreshTokenFamilyRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.families = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new FamilyExpiry()).recordStats()
+				.build();
+		this.sweepBatchSize = sweepBatchSize;
+		this.reuseCounter = Counter.builder("auth.refresh.token.reuse")
+				.description("Refresh tokens presented after being rotated, revoking their family")
+				.register(meterRegistry);
+		CaffeineCacheMetrics.monitor(meterRegistry, families, "refreshTokenFamilies");
+	}
+
+	/**
+	 * @description Opens a new family for a user and registers its first token.
+	 * @param userId the id of the user
+	 * @param expiresAt the expiration of the first token
+	 * @return the grant of the first token
+	 */
+	public RefreshGrant open(Long userId, Instant expiresAt) {
+		RefreshGrant grant = new RefreshGrant(UUID.randomUUID(), UUID.randomUUID(), expiresAt);
+		transactionTemplate.executeWithoutResult(status -> refreshTokenFamilyRepository.insertFamily(grant.familyId(),
+				userId, grant.tokenId(), expiresAt));
+		families.put(grant.familyId(), new FamilyState(expiresAt, false));
+		return grant;
+	}
+
+	/**
+	 * @description Replaces the presented token of a family with a new one. If the
+	 * presented token is not the current one, the family is revoked.
+	 * @param familyId the family id of the presented token
+	 * @param tokenId the id of the presented token
+	 * @param expiresAt the expiration of the new token
+	 * @return the grant of the new token
+	 * @throws InvalidCredentialsException if the token is reused, or its family is
+	 * revoked or expired
+	 */
+	public RefreshGrant rotate(UUID familyId, UUID tokenId, Instant expiresAt) {
+		if (familyId == null || tokenId == null) {
+			throw new InvalidCredentialsException();
+		}
+
+		FamilyState known = families.getIfPresent(familyId);
+		if (known != null && known.revoked()) {
+			throw new InvalidCredentialsException();
+		}
+
+		UUID nextTokenId = UUID.randomUUID();
+		Instant now = Instant.now();
+		int rotated = transactionTemplate
+				.execute(status -> refreshTokenFamilyRepository.rotate(familyId, tokenId, nextTokenId, expiresAt, now));
+
+		if (rotated == 0) {
+			if (revoke(familyId)) {
+				reuseCounter.increment();
+				logger.warn("Refresh token reuse detected, revoked family {}", familyId);
+			}
+			throw new InvalidCredentialsException();
+		}
+
+		families.put(familyId, new FamilyState(expiresAt, false));
+		return new RefreshGrant(familyId, nextTokenId, expiresAt);
+	}
+
+	/**
+	 * @description Revokes a family, so none of its tokens can be refreshed again.
+	 * @param familyId the id of the family
+	 * @return true if the family was active and is now revoked
+	 */
+	public boolean revoke(UUID familyId) {
+		if (familyId == null) {
+			return false;
+		}
+
+		int revoked = transactionTemplate.execute(status -> refreshTokenFamilyRepository.revoke(familyId));
+		families.asMap().computeIfPresent(familyId, (id, state) -> state.asRevoked());
+		return revoked > 0;
+	}
+
+	/**
+	 * @description Deletes the expired families in batches until none are left. Revoked
+	 * families are kept until they expire, so their tokens keep being rejected.
+	 */
+	@Scheduled(fixedDelayString = "${auth.refresh-token.sweep.interval}",
+			initialDelayString = "${auth.refresh-token.sweep.interval}")
+	public void sweepExpired() {
+		Instant now = Instant.now();
+		long swept = 0;
+		int deleted;
+		do {
+			deleted = transactionTemplate
+					.execute(status -> refreshTokenFamilyRepository.deleteExpired(now, sweepBatchSize));
+			swept += deleted;
+		}
+		while (deleted == sweepBatchSize);
+
+		if (swept > 0) {
+			logger.debug("Swept {} expired refresh token families", swept);
+		}
+	}
+
+	/**
+	 * FamilyState record. The state of a family as last seen by this instance.
+	 */
+	private record FamilyState(Instant expiresAt, boolean revoked) {
+
+		FamilyState asRevoked() {
+			return new FamilyState(expiresAt, true);
+		}
+
+	}
+
+	/**
+	 * FamilyExpiry class. Expires each entry at the expiration of its family.
+	 */
+	private static final class FamilyExpiry implements Expiry<UUID, FamilyState> {
+
+		@Override
+		public long expireAfterCreate(UUID key, FamilyState state, long currentTime) {
+			return Math.max(Duration.between(Instant.now(), state.expiresAt()).toNanos(), 0);
+		}
+
+		@Override
+		public long expireAfterUpdate(UUID key, FamilyState state, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, state, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(UUID key, FamilyState state, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+	}
+
+}
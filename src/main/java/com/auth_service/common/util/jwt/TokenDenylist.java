@@ -0,0 +1,239 @@
+package com.auth_service.common.util.jwt;
+
+import com.auth_service.model.entity.AccessTokenRevocation;
+import com.auth_service.repository.AccessTokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TokenDenylist class. Tracks access tokens revoked before their expiration. Each check
+ * first asks a memory-mapped Bloom filter, which answers most requests without touching
+ * the heap; only ids the filter may contain are confirmed against the exact set of
+ * revoked ids.
+ * <p>
+ * The access_token_revocation table is the source of truth. Every replica reads the rows
+ * added since its last sync, tracked by the version stored in the filter file, and
+ * expired revocations are swept in batches. The Bloom filter is rebuilt from the exact
+ * set once more ids were added than it was sized for and enough of them expired. The
+ * filter file must belong to a single instance, since a rebuild clears it.
+ */
+@Component
+public class TokenDenylist {
+
+	private static final Logger logger = LoggerFactory.getLogger(TokenDenylist.class);
+
+	private final AccessTokenRevocationRepository accessTokenRevocationRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final Path filterPath;
+
+	private final long expectedInsertions;
+
+	private final double falsePositiveRate;
+
+	private final int sweepBatchSize;
+
+	/**
+	 * The revoked token ids and the expiration of each token.
+	 */
+	private final Map<UUID, Instant> revokedTokens = new ConcurrentHashMap<>();
+
+	private MappedBloomFilter bloomFilter;
+
+	/**
+	 * Incremented when a rebuild of the Bloom filter starts and again when it ends, so it
+	 * is odd while the filter is being cleared and refilled. A check that sees it odd, or
+	 * changed while it read the filter, goes to the exact set.
+	 */
+	private volatile long generation;
+
+	/**
+	 * Whether more tokens are revoked than the filter was sized for, which was logged
+	 * once.
+	 */
+	private boolean overCapacity;
+
+	public TokenDenylist(AccessTokenRevocationRepository accessTokenRevocationRepository,
+			TransactionTemplate transactionTemplate, @Value("${auth.denylist.file}") Path filterPath,
+			@Value("${auth.denylist.expected-insertions}") long expectedInsertions,
+			@Value("${auth.denylist.false-positive-rate}") double falsePositiveRate,
+			@Value("${auth.denylist.sweep.batch-size}") int sweepBatchSize) {
+		this.accessTokenRevocationRepository = accessTokenRevocationRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.filterPath = filterPath;
+		this.expectedInsertions = expectedInsertions;
+		this.falsePositiveRate = falsePositiveRate;
+		this.sweepBatchSize = sweepBatchSize;
+	}
+
+	/**
+	 * @description Maps the Bloom filter file and loads the revocations of tokens that
+	 * have not expired. Every one is put in the filter again, so bits lost when the file
+	 * was not fully written before a crash are restored.
+	 */
+	@PostConstruct
+	public void init() {
+		try {
+			bloomFilter = MappedBloomFilter.open(filterPath, expectedInsertions, falsePositiveRate);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to map the token denylist at " + filterPath, e);
+		}
+
+		long version = bloomFilter.getVersion();
+		for (AccessTokenRevocation revocation : accessTokenRevocationRepository.findActive(Instant.now())) {
+			add(revocation.getTokenId(), revocation.getExpiresAt());
+			version = Math.max(version, revocation.getVersion());
+		}
+		bloomFilter.setVersion(version);
+		logger.info("Loaded {} revoked access tokens", revokedTokens.size());
+	}
+
+	/**
+	 * @description Checks whether an access token is revoked.
+	 * @param tokenId the id of the token, null for tokens issued without one
+	 * @return true if the token is revoked
+	 */
+	public boolean isRevoked(UUID tokenId) {
+		if (tokenId == null) {
+			return false;
+		}
+		long filterGeneration = generation;
+		if ((filterGeneration & 1) == 0 && !bloomFilter.mightContain(tokenId) && generation == filterGeneration) {
+			return false;
+		}
+		return revokedTokens.containsKey(tokenId);
+	}
+
+	/**
+	 * @description Revokes an access token. The token is rejected by this instance at
+	 * once and by the others after their next sync.
+	 * @param tokenId the id of the token
+	 * @param expiresAt the expiration of the token
+	 */
+	public void revoke(UUID tokenId, Instant expiresAt) {
+		transactionTemplate
+				.executeWithoutResult(status -> accessTokenRevocationRepository.insertRevocation(tokenId, expiresAt));
+		add(tokenId, expiresAt);
+	}
+
+	/**
+	 * @description Reads the revocations added by any instance since the last sync, and
+	 * drops expired tokens from the exact set. Ids the Bloom filter already reports are
+	 * not put in it again, which avoids dirtying mapped pages for nothing.
+	 * <p>
+	 * The filter is rebuilt when it holds more ids than it was sized for and a rebuild
+	 * frees at least a quarter of that, so a denylist that is simply too large is logged
+	 * instead of being rebuilt on every sync.
+	 */
+	@Scheduled(fixedDelayString = "${auth.denylist.sync-interval}",
+			initialDelayString = "${auth.denylist.sync-interval}")
+	public synchronized void sync() {
+		List<AccessTokenRevocation> changes = accessTokenRevocationRepository
+				.findChangedSince(bloomFilter.getVersion());
+
+		long version = bloomFilter.getVersion();
+		for (AccessTokenRevocation revocation : changes) {
+			revokedTokens.put(revocation.getTokenId(), revocation.getExpiresAt());
+			if (!bloomFilter.mightContain(revocation.getTokenId())) {
+				bloomFilter.put(revocation.getTokenId());
+			}
+			version = Math.max(version, revocation.getVersion());
+		}
+		bloomFilter.setVersion(version);
+
+		Instant now = Instant.now();
+		revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+
+		int revoked = revokedTokens.size();
+		if ((revoked > expectedInsertions) != overCapacity) {
+			overCapacity = !overCapacity;
+			if (overCapacity) {
+				logger.warn("{} access tokens are revoked but the denylist filter is sized for {}, "
+						+ "raise auth.denylist.expected-insertions", revoked, expectedInsertions);
+			}
+		}
+		if (bloomFilter.size() > expectedInsertions && bloomFilter.size() - revoked >= expectedInsertions / 4) {
+			rebuild();
+		}
+	}
+
+	/**
+	 * @description Deletes the revocations of expired tokens in batches until none are
+	 * left.
+	 */
+	@Scheduled(fixedDelayString = "${auth.denylist.sweep.interval}",
+			initialDelayString = "${auth.denylist.sweep.interval}")
+	public void sweepExpired() {
+		Instant now = Instant.now();
+		long swept = 0;
+		int deleted;
+		do {
+			deleted = transactionTemplate
+					.execute(status -> accessTokenRevocationRepository.deleteExpired(now, sweepBatchSize));
+			swept += deleted;
+		}
+		while (deleted == sweepBatchSize);
+
+		if (swept > 0) {
+			logger.debug("Swept {} expired access token revocations", swept);
+		}
+	}
+
+	/**
+	 * @description Writes the Bloom filter to its file.
+	 */
+	@PreDestroy
+	public void close() {
+		bloomFilter.force();
+	}
+
+	/**
+	 * @description Adds a revoked token to the exact set, then to the Bloom filter, so a
+	 * rebuild running at the same time never loses it.
+	 * @param tokenId the id of the token
+	 * @param expiresAt the expiration of the token
+	 */
+	private void add(UUID tokenId, Instant expiresAt) {
+		revokedTokens.put(tokenId, expiresAt);
+		bloomFilter.put(tokenId);
+	}
+
+	/**
+	 * @description Rebuilds the Bloom filter from the tokens that are still revoked,
+	 * dropping the bits of expired ones. Checks use the exact set meanwhile, including
+	 * checks that started reading the filter just before the rebuild, since they see the
+	 * generation change. Only called from {@link #sync()}, so there is a single writer.
+	 */
+	private void rebuild() {
+		long version = bloomFilter.getVersion();
+		generation++;
+		try {
+			bloomFilter.clear();
+			revokedTokens.keySet().forEach(bloomFilter::put);
+			bloomFilter.setVersion(version);
+		}
+		finally {
+			generation++;
+		}
+		bloomFilter.force();
+		logger.info("Rebuilt the token denylist filter with {} revoked access tokens", revokedTokens.size());
+	}
+
+}
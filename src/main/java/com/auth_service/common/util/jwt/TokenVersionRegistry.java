@@ -0,0 +1,250 @@
+package com.auth_service.common.util.jwt;
+
+import com.auth_service.model.constants.Role;
+import com.auth_service.model.entity.UserTokenVersion;
+import com.auth_service.repository.UserTokenVersionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * TokenVersionRegistry class. Holds the token version of every user whose version was
+ * ever bumped, in a primitive open-addressing table keyed by user id, so checking a token
+ * costs one probe and no database read. Tokens are stamped with the current version of
+ * their user and rejected once it is bumped, which logs a user out everywhere.
+ * <p>
+ * The table is loaded from user_token_version at startup, updated here when this instance
+ * bumps a version and synced periodically with the bumps of other instances. Versions
+ * only grow, so reading a bump twice is harmless.
+ */
+@Component
+public class TokenVersionRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+	/**
+	 * How far before the last bump already read a sync starts, to pick up transactions
+	 * that committed after a later one.
+	 */
+	private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+	private final UserTokenVersionRepository userTokenVersionRepository;
+
+	/**
+	 * The current table. Readers use it without locking; writers replace it.
+	 */
+	private volatile VersionTable table = VersionTable.EMPTY;
+
+	/**
+	 * The latest bump time read from the database.
+	 */
+	private Instant syncedUntil = Instant.EPOCH;
+
+	public TokenVersionRegistry(UserTokenVersionRepository userTokenVersionRepository) {
+		this.userTokenVersionRepository = userTokenVersionRepository;
+	}
+
+	/**
+	 * @description Loads every bumped token version.
+	 */
+	@PostConstruct
+	public void init() {
+		List<UserTokenVersion> versions = userTokenVersionRepository.findAll();
+		apply(versions);
+		logger.info("Loaded the token versions of {} users", versions.size());
+	}
+
+	/**
+	 * @description Gets the token version of a user.
+	 * @param userId the id of the user
+	 * @return the token version, 0 if it was never bumped
+	 */
+	public int current(Long userId) {
+		return userId != null ? table.get(userId) : 0;
+	}
+
+	/**
+	 * @description Checks whether a token signed with the given version is still valid.
+	 * @param userId the id of the user, null for tokens issued without one
+	 * @param version the version the token was signed with
+	 * @return true if the user's version has not been bumped since
+	 */
+	public boolean isCurrent(Long userId, int version) {
+		return userId == null || version >= table.get(userId);
+	}
+
+	/**
+	 * @description Bumps the token version of users. Must be called in a read-write
+	 * transaction, and only takes effect here once it commits.
+	 * @param userIds the ids of the users
+	 */
+	public void bump(Collection<Long> userIds) {
+		if (!userIds.isEmpty()) {
+			applyAfterCommit(userTokenVersionRepository.bumpByUserIds(userIds));
+		}
+	}
+
+	/**
+	 * @description Bumps the token version of every user with a role. Must be called in a
+	 * read-write transaction, and only takes effect here once it commits.
+	 * @param role the role of the users
+	 */
+	public void bump(Role role) {
+		applyAfterCommit(userTokenVersionRepository.bumpByRole(role.name()));
+	}
+
+	/**
+	 * @description Reads the versions bumped by any instance since the last sync.
+	 */
+	@Scheduled(fixedDelayString = "${auth.token-version.sync-interval}",
+			initialDelayString = "${auth.token-version.sync-interval}")
+	public void sync() {
+		Instant since;
+		synchronized (this) {
+			since = syncedUntil.minus(SYNC_OVERLAP);
+		}
+		apply(userTokenVersionRepository.findByUpdatedAtAfter(since));
+	}
+
+	/**
+	 * @description Applies bumped versions once the current transaction commits, or at
+	 * once outside a transaction.
+	 * @param versions the bumped versions
+	 */
+	private void applyAfterCommit(List<UserTokenVersion> versions) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			apply(versions);
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				apply(versions);
+			}
+		});
+	}
+
+	/**
+	 * @description Raises the versions of the table to the given ones and replaces it.
+	 * @param versions the versions read from the database
+	 */
+	private synchronized void apply(List<UserTokenVersion> versions) {
+		if (versions.isEmpty()) {
+			return;
+		}
+
+		VersionTable next = table.copy(versions.size());
+		for (UserTokenVersion version : versions) {
+			next.raise(version.getUserId(), version.getTokenVersion());
+			if (version.getUpdatedAt().isAfter(syncedUntil)) {
+				syncedUntil = version.getUpdatedAt();
+			}
+		}
+		table = next;
+	}
+
+	/**
+	 * VersionTable class. Open-addressing hash table of user ids to versions using linear
+	 * probing. Tables are never changed once published.
+	 */
+	private static final class VersionTable {
+
+		static final VersionTable EMPTY = new VersionTable(16);
+
+		/**
+		 * The user ids, 0 marking a free slot. User ids start at 1.
+		 */
+		private final long[] keys;
+
+		private final int[] values;
+
+		private final int mask;
+
+		private int size;
+
+		private VersionTable(int capacity) {
+			this.keys = new long[capacity];
+			this.values = new int[capacity];
+			this.mask = capacity - 1;
+		}
+
+		/**
+		 * Gets the version of a user.
+		 * @param userId the id of the user
+		 * @return the version, 0 if the user has none
+		 */
+		int get(long userId) {
+			int slot = slot(userId);
+			while (keys[slot] != 0) {
+				if (keys[slot] == userId) {
+					return values[slot];
+				}
+				slot = (slot + 1) & mask;
+			}
+			return 0;
+		}
+
+		/**
+		 * Copies the table with room for more users, keeping the load factor under one
+		 * half.
+		 * @param additional the number of users that may be added
+		 * @return the copy
+		 */
+		VersionTable copy(int additional) {
+			int capacity = keys.length;
+			while ((size + additional) * 2 > capacity) {
+				capacity <<= 1;
+			}
+			if (capacity == keys.length) {
+				VersionTable copy = new VersionTable(capacity);
+				System.arraycopy(keys, 0, copy.keys, 0, capacity);
+				System.arraycopy(values, 0, copy.values, 0, capacity);
+				copy.size = size;
+				return copy;
+			}
+
+			VersionTable copy = new VersionTable(capacity);
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] != 0) {
+					copy.raise(keys[i], values[i]);
+				}
+			}
+			return copy;
+		}
+
+		/**
+		 * Sets the version of a user unless it already holds a higher one. Only called on
+		 * a copy that is not yet published.
+		 * @param userId the id of the user
+		 * @param version the version
+		 */
+		void raise(long userId, int version) {
+			int slot = slot(userId);
+			while (keys[slot] != 0 && keys[slot] != userId) {
+				slot = (slot + 1) & mask;
+			}
+			if (keys[slot] == 0) {
+				keys[slot] = userId;
+				size++;
+			}
+			values[slot] = Math.max(values[slot], version);
+		}
+
+		private int slot(long userId) {
+			long hash = userId * 0x9E3779B97F4A7C15L;
+			return (int) (hash ^ (hash >>> 32)) & mask;
+		}
+
+	}
+
+}
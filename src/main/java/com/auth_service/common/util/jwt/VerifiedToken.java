@@ -0,0 +1,151 @@
+package com.auth_service.common.util.jwt;
+
+import com.auth_service.model.constants.Role;
+import com.auth_service.model.constants.TokenType;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * VerifiedToken class. Holds the claims of a JWT token whose signature has already been
+ * verified, so callers can read them without parsing the token again.
+ */
+public final class VerifiedToken {
+
+	private final Claims claims;
+
+	private final String subject;
+
+	private final Long userId;
+
+	private final Role role;
+
+	private final Date expiration;
+
+	private final Date issuedAt;
+
+	private final TokenType type;
+
+	private final UUID tokenId;
+
+	private final UUID familyId;
+
+	private final int version;
+
+	public VerifiedToken(Claims claims) {
+		this.claims = claims;
+		this.subject = claims.getSubject();
+		this.userId = claims.get("uid", Long.class);
+		this.role = resolveRole(claims.get("role", String.class));
+		this.expiration = claims.getExpiration();
+		this.issuedAt = claims.getIssuedAt();
+		this.type = resolveType(claims.get("typ", String.class));
+		this.tokenId = resolveId(claims.getId());
+		this.familyId = resolveId(claims.get("fid", String.class));
+		Integer version = claims.get("ver", Integer.class);
+		this.version = version != null ? version : 0;
+	}
+
+	public Claims getClaims() {
+		return claims;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public Role getRole() {
+		return role;
+	}
+
+	public Date getExpiration() {
+		return expiration;
+	}
+
+	public Date getIssuedAt() {
+		return issuedAt;
+	}
+
+	public TokenType getType() {
+		return type;
+	}
+
+	public UUID getTokenId() {
+		return tokenId;
+	}
+
+	public UUID getFamilyId() {
+		return familyId;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * @description Checks if the token is a refresh token.
+	 * @return true if the token is a refresh token, false otherwise
+	 */
+	public boolean isRefreshToken() {
+		return type == TokenType.REFRESH;
+	}
+
+	/**
+	 * @description Checks if the token is expired.
+	 * @return true if the token is expired, false otherwise
+	 */
+	public boolean isExpired() {
+		return expiration != null && expiration.getTime() < System.currentTimeMillis();
+	}
+
+	/**
+	 * @description Checks if the token was issued to the given username and is not
+	 * expired.
+	 * @param username the username to validate against
+	 * @return true if the token is valid for the username, false otherwise
+	 */
+	public boolean isValidFor(String username) {
+		return subject != null && subject.equals(username) && !isExpired();
+	}
+
+	/**
+	 * @description Resolves the role claim of the token.
+	 * @param role the role claim
+	 * @return the role, or null if the claim is missing
+	 */
+	private static Role resolveRole(String role) {
+		return role != null ? Role.valueOf(role) : null;
+	}
+
+	/**
+	 * @description Resolves the type claim of the token. Tokens issued before the claim
+	 * existed are access tokens.
+	 * @param type the type claim
+	 * @return the token type
+	 */
+	private static TokenType resolveType(String type) {
+		return type != null ? TokenType.valueOf(type) : TokenType.ACCESS;
+	}
+
+	/**
+	 * @description Resolves a UUID claim of the token.
+	 * @param id the claim value
+	 * @return the UUID, or null if the claim is missing
+	 */
+	private static UUID resolveId(String id) {
+		return id != null ? UUID.fromString(id) : null;
+	}
+
+	@Override
+	public String toString() {
+		return "VerifiedToken{" + "subject='" + subject + '\'' + ", userId=" + userId + ", role=" + role
+				+ ", expiration=" + expiration + ", issuedAt=" + issuedAt + ", type=" + type + ", tokenId=" + tokenId
+				+ ", familyId=" + familyId + ", version=" + version + '}';
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.auth_service.common.util.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * VerifiedTokenCache class. Bounded cache of verified tokens keyed by a SHA-256 digest of
+ * the raw bearer string, so a token reused across requests skips signature verification.
+ * Entries are dropped no later than the token's expiration.
+ */
+@Component
+public class VerifiedTokenCache {
+
+	private final boolean enabled;
+
+	private final Cache<ByteBuffer, VerifiedToken> cache;
+
+	public VerifiedTokenCache(@Value("${auth.jwt.cache.enabled}") boolean enabled,
+			@Value("${auth.jwt.cache.max-size}") long maxSize, MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.cache = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new TokenExpiry()).recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedTokens");
+	}
+
+	/**
+	 * @description Gets the verified token from the cache, verifying and caching it on a
+	 * miss. Tokens that fail verification are never cached. Verification runs outside the
+	 * cache's compute lock, so a miss never holds a monitor while verifying; concurrent
+	 * misses on the same token may both verify it.
+	 * @param token the raw JWT token
+	 * @param verifier the function verifying the token on a miss
+	 * @return the verified token
+	 */
+	public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+		if (!enabled) {
+			return verifier.apply(token);
+		}
+
+		ByteBuffer key = digest(token);
+		VerifiedToken cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		VerifiedToken verified = verifier.apply(token);
+		cache.put(key, verified);
+		return verified;
+	}
+
+	/**
+	 * @description Removes every cached token.
+	 */
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * @description Gets the hit, miss and eviction counters of the cache.
+	 * @return the cache statistics
+	 */
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	/**
+	 * @description Computes the SHA-256 digest of the raw token.
+	 * @param token the raw JWT token
+	 * @return the digest used as cache key
+	 */
+	private static ByteBuffer digest(String token) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			return ByteBuffer.wrap(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * TokenExpiry class. Expires each entry at the expiration of its token.
+	 */
+	private static final class TokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+		@Override
+		public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+			if (token.getExpiration() == null) {
+				return 0;
+			}
+			long remainingMillis = token.getExpiration().getTime() - System.currentTimeMillis();
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+		}
+
+		@Override
+		public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+		@Override
+		public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+	}
+
+}
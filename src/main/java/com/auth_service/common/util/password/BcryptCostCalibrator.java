@@ -0,0 +1,72 @@
+package com.auth_service.common.util.password;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BcryptCostCalibrator class. Measures bcrypt on the current node and picks the highest
+ * cost whose hashing time stays within a latency target.
+ */
+public final class BcryptCostCalibrator {
+
+	private static final Logger logger = LoggerFactory.getLogger(BcryptCostCalibrator.class);
+
+	/**
+	 * The password hashed while measuring. Its value does not affect the timing.
+	 */
+	private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+	/**
+	 * The number of measurements per cost. The fastest one is kept to filter out JIT and
+	 * scheduling noise.
+	 */
+	private static final int SAMPLES = 3;
+
+	private BcryptCostCalibrator() {
+	}
+
+	/**
+	 * Picks the bcrypt cost for the current node. Each cost step doubles the hashing
+	 * time, so the next cost is only measured while its predicted time fits the target.
+	 * @param targetMillis the hashing latency target in milliseconds
+	 * @param minCost the lowest cost allowed, used even if it exceeds the target
+	 * @param maxCost the highest cost allowed
+	 * @return the calibrated cost
+	 */
+	public static int calibrate(long targetMillis, int minCost, int maxCost) {
+		int cost = minCost;
+		long elapsedMillis = measure(cost);
+
+		while (cost < maxCost && elapsedMillis * 2 <= targetMillis) {
+			cost++;
+			elapsedMillis = measure(cost);
+		}
+
+		if (elapsedMillis > targetMillis && cost > minCost) {
+			cost--;
+		}
+
+		logger.info("Calibrated bcrypt cost {} for a {} ms target", cost, targetMillis);
+		return cost;
+	}
+
+	/**
+	 * Measures the time to hash a password at the given cost.
+	 * @param cost the bcrypt cost
+	 * @return the fastest hashing time in milliseconds
+	 */
+	private static long measure(int cost) {
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+		long fastestNanos = Long.MAX_VALUE;
+
+		for (int i = 0; i < SAMPLES; i++) {
+			long start = System.nanoTime();
+			encoder.encode(SAMPLE_PASSWORD);
+			fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+		}
+
+		return fastestNanos / 1_000_000;
+	}
+
+}
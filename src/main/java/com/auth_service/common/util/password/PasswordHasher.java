@@ -0,0 +1,210 @@
+package com.auth_service.common.util.password;
+
+import com.auth_service.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PasswordHasher class. Runs password hashing and verification on a dedicated, bounded
+ * worker pool so that bcrypt work cannot starve the request threads. When the pool and
+ * its queue are full, new work is rejected immediately.
+ */
+@Component
+public class PasswordHasher {
+
+	private static final long RETRY_DELAY_MILLIS = 20;
+
+	private final PasswordEncoder passwordEncoder;
+
+	private final ThreadPoolExecutor executor;
+
+	private final Timer waitTimer;
+
+	private final Counter rejectedCounter;
+
+	private final Timer encodeTimer;
+
+	private final Timer matchesTimer;
+
+	private final Duration bulkMaxWait;
+
+	public PasswordHasher(PasswordEncoder passwordEncoder, @Value("${auth.password.hashing.pool-size}") int poolSize,
+			@Value("${auth.password.hashing.queue-capacity}") int queueCapacity,
+			@Value("${auth.password.hashing.bulk-max-wait}") Duration bulkMaxWait, MeterRegistry meterRegistry) {
+		this.passwordEncoder = passwordEncoder;
+		this.bulkMaxWait = bulkMaxWait;
+		int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.waitTimer = Timer.builder("auth.password.hashing.wait")
+				.description("Time password hashing tasks spend queued before running").register(meterRegistry);
+		this.rejectedCounter = Counter.builder("auth.password.hashing.rejected")
+				.description("Password hashing tasks rejected because the pool was full").register(meterRegistry);
+		this.encodeTimer = Timer.builder("auth.password.hashing.duration")
+				.description("Time spent hashing or verifying a password").tag("operation", "encode")
+				.register(meterRegistry);
+		this.matchesTimer = Timer.builder("auth.password.hashing.duration")
+				.description("Time spent hashing or verifying a password").tag("operation", "matches")
+				.register(meterRegistry);
+		Gauge.builder("auth.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+				.description("Password hashing tasks waiting in the queue").register(meterRegistry);
+		Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+				.description("Password hashing tasks currently running").register(meterRegistry);
+	}
+
+	/**
+	 * Hashes a raw password on the hashing pool.
+	 * @param rawPassword the raw password
+	 * @return a future completing with the encoded password
+	 * @throws PasswordHashingUnavailableException if the pool is full
+	 */
+	public CompletableFuture<String> encode(String rawPassword) {
+		return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+	}
+
+	/**
+	 * Hashes a batch of raw passwords in parallel. Passwords are submitted in waves of
+	 * one task per pool thread, so requests queued meanwhile run between waves instead of
+	 * waiting for the whole batch. Tasks the pool rejects are submitted again after a
+	 * short delay, without blocking any thread, until the bulk wait limit is reached.
+	 * @param rawPasswords the raw passwords
+	 * @return a future completing with the encoded passwords, in the same order, or
+	 * failing with {@link PasswordHashingUnavailableException} if the pool stays full
+	 */
+	public CompletableFuture<List<String>> encodeAll(List<String> rawPasswords) {
+		int waveSize = executor.getMaximumPoolSize();
+		long deadline = System.nanoTime() + bulkMaxWait.toNanos();
+		List<String> encodedPasswords = new ArrayList<>(rawPasswords.size());
+		CompletableFuture<Void> done = CompletableFuture.completedFuture(null);
+
+		for (int from = 0; from < rawPasswords.size(); from += waveSize) {
+			List<String> wave = rawPasswords.subList(from, Math.min(from + waveSize, rawPasswords.size()));
+			done = done.thenCompose(ignored -> encodeWave(wave, deadline)).thenAccept(encodedPasswords::addAll);
+		}
+
+		return done.thenApply(ignored -> encodedPasswords);
+	}
+
+	/**
+	 * Verifies a raw password against an encoded password on the hashing pool.
+	 * @param rawPassword the raw password
+	 * @param encodedPassword the encoded password
+	 * @return a future completing with true if the passwords match
+	 * @throws PasswordHashingUnavailableException if the pool is full
+	 */
+	public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+		return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+	}
+
+	/**
+	 * Checks if an encoded password should be hashed again, because it uses an older
+	 * format or a cost below the configured minimum. This check does not hash anything
+	 * and runs on the calling thread.
+	 * @param encodedPassword the encoded password
+	 * @return true if the password should be hashed again
+	 */
+	public boolean upgradeEncoding(String encodedPassword) {
+		return passwordEncoder.upgradeEncoding(encodedPassword);
+	}
+
+	/**
+	 * Stops the hashing pool.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Hashes one wave of raw passwords in parallel.
+	 * @param wave the raw passwords of the wave
+	 * @param deadline the {@link System#nanoTime()} after which rejected tasks fail
+	 * @return a future completing with the encoded passwords, in the same order
+	 */
+	private CompletableFuture<List<String>> encodeWave(List<String> wave, long deadline) {
+		List<CompletableFuture<String>> futures = wave.stream()
+				.map(rawPassword -> encodeWhenAdmitted(rawPassword, deadline)).toList();
+		return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+				.thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+	}
+
+	/**
+	 * Hashes a raw password on the hashing pool. If the pool is full, the task is
+	 * submitted again after {@link #RETRY_DELAY_MILLIS} until the deadline passes.
+	 * @param rawPassword the raw password
+	 * @param deadline the {@link System#nanoTime()} after which a rejected task fails
+	 * @return a future completing with the encoded password
+	 */
+	private CompletableFuture<String> encodeWhenAdmitted(String rawPassword, long deadline) {
+		try {
+			return encode(rawPassword);
+		}
+		catch (PasswordHashingUnavailableException e) {
+			if (System.nanoTime() - deadline >= 0) {
+				return CompletableFuture.failedFuture(e);
+			}
+			Executor delayed = CompletableFuture.delayedExecutor(RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+			return CompletableFuture.supplyAsync(() -> rawPassword, delayed)
+					.thenCompose(password -> encodeWhenAdmitted(password, deadline));
+		}
+	}
+
+	/**
+	 * Submits a task to the hashing pool, recording how long it waits in the queue and
+	 * how long it runs.
+	 * @param durationTimer the timer recording the run time of the task
+	 * @param task the task to run
+	 * @param <T> the type of the task result
+	 * @return a future completing with the task result
+	 */
+	private <T> CompletableFuture<T> submit(Timer durationTimer, Supplier<T> task) {
+		long queuedAt = System.nanoTime();
+		try {
+			return CompletableFuture.supplyAsync(() -> {
+				waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+				return durationTimer.record(task);
+			}, executor);
+		}
+		catch (RejectedExecutionException e) {
+			rejectedCounter.increment();
+			throw new PasswordHashingUnavailableException();
+		}
+	}
+
+	/**
+	 * HashingThreadFactory class. Names the hashing pool threads.
+	 */
+	private static final class HashingThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
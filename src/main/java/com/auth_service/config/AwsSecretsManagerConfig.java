@@ -47,6 +47,9 @@ public class AwsSecretsManagerConfig {
 		setSecretProperty(secretString, "authServiceJwtSecret", "JWT_SECRET");
 		setSecretProperty(secretString, "authServiceAccessTokenValidity", "AUTH_SERVICE_ACCESS_TOKEN_VALIDITY");
 		setSecretProperty(secretString, "authServiceRefreshTokenValidity", "AUTH_SERVICE_REFRESH_TOKEN_VALIDITY");
+		setOptionalSecretProperty(secretString, "authServiceJwtKeys", "JWT_KEYS");
+		setOptionalSecretProperty(secretString, "authServiceJwtEcKeys", "JWT_EC_KEYS");
+		setOptionalSecretProperty(secretString, "authServiceJwtActiveKeyId", "JWT_ACTIVE_KEY_ID");
 	}
 
 	/**
@@ -104,6 +107,27 @@ public class AwsSecretsManagerConfig {
 		System.setProperty(systemPropertyName, secretValue);
 	}
 
+	/**
+	 * @description Sets the secret property in the system properties if it is present in
+	 * the secret string. Object values are stored as their JSON representation.
+	 * @param secretString the secret string
+	 * @param propertyName the property name to extract from the secret string
+	 * @param systemPropertyName the system property name to set
+	 * @throws JsonProcessingException if an error occurs while processing JSON
+	 */
+	private void setOptionalSecretProperty(String secretString, String propertyName, String systemPropertyName)
+			throws JsonProcessingException {
+		ObjectMapper objectMapper = new ObjectMapper();
+		JsonNode secretValue = objectMapper.readTree(secretString).get(propertyName);
+
+		if (secretValue == null || secretValue.isNull()) {
+			System.clearProperty(systemPropertyName);
+			return;
+		}
+
+		System.setProperty(systemPropertyName, secretValue.isTextual() ? secretValue.asText() : secretValue.toString());
+	}
+
 	/**
 	 * @description Extracts the secret value from the secret string.
 	 * @param secretString the secret string
@@ -0,0 +1,58 @@
+package com.auth_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SchemaIndexVerifier class. Checks at startup that the indexes the authentication
+ * lookups rely on exist, and stops the application if any is missing instead of letting
+ * every login fall back to a sequential scan.
+ */
+@Component
+public class SchemaIndexVerifier implements ApplicationRunner {
+
+	/**
+	 * The indexes created by the migrations and required by the hot queries.
+	 */
+	private static final List<String> REQUIRED_INDEXES = List.of("ux_user_info_user_name", "ux_person_email",
+			"ux_user_info_person_id");
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final boolean enabled;
+
+	public SchemaIndexVerifier(JdbcTemplate jdbcTemplate,
+			@Value("${auth.schema.verify-indexes.enabled}") boolean enabled) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @description Verifies the required indexes exist in the current schema.
+	 * @param args the application arguments
+	 * @throws IllegalStateException if a required index is missing
+	 */
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!enabled) {
+			return;
+		}
+
+		Set<String> missing = new HashSet<>(REQUIRED_INDEXES);
+		missing.removeAll(jdbcTemplate.queryForList(
+				"select indexname from pg_indexes where schemaname = current_schema() and indexname = any(?)",
+				String.class, (Object) REQUIRED_INDEXES.toArray(String[]::new)));
+
+		if (!missing.isEmpty()) {
+			throw new IllegalStateException("Missing database indexes " + missing + ". Run the Flyway migrations.");
+		}
+	}
+
+}
@@ -1,8 +1,11 @@
 package com.auth_service.config;
 
+import com.auth_service.common.util.password.BcryptCostCalibrator;
 import com.auth_service.filter.JwtRequestFilter;
 import com.auth_service.model.constants.ErrorMessages;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -16,12 +19,18 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.util.Map;
+
 /**
  * SecurityConfig class. Configures the security filter chain for the application.
  */
@@ -30,18 +39,31 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
+	/**
+	 * The id prefixed to the stored password hashes.
+	 */
+	private static final String BCRYPT_ENCODING_ID = "bcrypt";
+
 	/**
 	 * JwtRequestFilter object. Used for filtering JWT requests.
 	 */
 	private final JwtRequestFilter jwtRequestFilter;
 
+	/**
+	 * The port actuator is served on, separate from the application port.
+	 */
+	private final int managementPort;
+
 	/**
 	 * @description Constructor for SecurityConfig.
 	 * @param jwtRequestFilter the JwtRequestFilter object
+	 * @param managementPort the port actuator is served on
 	 */
 	@Autowired
-	public SecurityConfig(@Lazy JwtRequestFilter jwtRequestFilter) {
+	public SecurityConfig(@Lazy JwtRequestFilter jwtRequestFilter,
+			@Value("${management.server.port}") int managementPort) {
 		this.jwtRequestFilter = jwtRequestFilter;
+		this.managementPort = managementPort;
 	}
 
 	/**
@@ -87,8 +109,16 @@ public class SecurityConfig {
 	 */
 	private void configureAuthorization(HttpSecurity http) throws Exception {
 		http.authorizeHttpRequests(auth -> {
+			// Async dispatches resume a request that was already authorized; the JWT is
+			// not re-read for them, so they would otherwise be rejected as anonymous.
+			auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
 			auth.requestMatchers("/auth/login", "/auth/refresh", "/v1/swagger-ui/**", "/v1/api-docs/**").permitAll();
 			auth.requestMatchers(HttpMethod.POST, "/users").permitAll();
+			// Prometheus scrapes without a token, so it is only open on the management
+			// port, which is not exposed outside the cluster.
+			auth.requestMatchers(new AndRequestMatcher(request -> request.getLocalPort() == managementPort,
+					AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/actuator/prometheus"))).permitAll();
+			auth.requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll();
 			auth.anyRequest().authenticated();
 		});
 	}
@@ -146,12 +176,34 @@ public class SecurityConfig {
 	}
 
 	/**
-	 * @description Creates a BCrypt password encoder.accessDeniedException
-	 * @return a BCryptPasswordEncoder object
+	 * @description Creates the password encoder. New hashes are stored as
+	 * {@code {bcrypt}} prefixed BCrypt hashes, at the cost calibrated on this node for
+	 * the configured latency target. Legacy hashes without a prefix are still matched as
+	 * BCrypt. Stored hashes are only upgraded when their cost is below the minimum cost,
+	 * so replicas calibrating different costs do not rewrite each other's hashes.
+	 * @param targetMillis the hashing latency target in milliseconds
+	 * @param minCost the lowest BCrypt cost allowed
+	 * @param maxCost the highest BCrypt cost allowed
+	 * @return a PasswordEncoder object
 	 */
 	@Bean
-	public BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(@Value("${auth.password.hashing.target-millis}") long targetMillis,
+			@Value("${auth.password.hashing.min-cost}") int minCost,
+			@Value("${auth.password.hashing.max-cost}") int maxCost) {
+		BCryptPasswordEncoder costFloor = new BCryptPasswordEncoder(minCost);
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(
+				BcryptCostCalibrator.calibrate(targetMillis, minCost, maxCost)) {
+
+			@Override
+			public boolean upgradeEncoding(String encodedPassword) {
+				return costFloor.upgradeEncoding(encodedPassword);
+			}
+
+		};
+		DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ENCODING_ID,
+				Map.of(BCRYPT_ENCODING_ID, bcrypt));
+		encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+		return encoder;
 	}
 
 	/**
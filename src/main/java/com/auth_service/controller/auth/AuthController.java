@@ -1,10 +1,21 @@
 package com.auth_service.controller.auth;
 
+import com.auth_service.model.dto.IntrospectionRequest;
 import com.auth_service.model.dto.LoginRequest;
+import com.auth_service.model.dto.LogoutRequest;
 import com.auth_service.model.dto.TokenRefreshRequest;
 import com.auth_service.model.response.ApiResponse;
+import com.auth_service.model.response.IntrospectionResult;
+import com.auth_service.model.response.TokenPair;
+import com.auth_service.model.security.AuthenticatedUser;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * AuthController interface. Defines the endpoints for authenticating users.
@@ -12,17 +23,46 @@ import org.springframework.web.bind.annotation.RequestBody;
 public interface AuthController {
 
 	/**
-	 * Authenticates a user and returns a JWT token.
+	 * Authenticates a user and returns an access token and a refresh token. The response
+	 * is completed asynchronously once the password has been verified.
 	 * @param loginRequest the login request containing the user's identifier and password
-	 * @return a ResponseEntity containing an ApiResponse with the JWT token
+	 * @return a future completing with a ResponseEntity containing an ApiResponse with
+	 * the token pair
 	 */
-	ResponseEntity<ApiResponse<String>> login(@RequestBody LoginRequest loginRequest);
+	CompletableFuture<ResponseEntity<ApiResponse<TokenPair>>> login(@RequestBody LoginRequest loginRequest);
 
 	/**
-	 * Refreshes the JWT token using a refresh token.
+	 * Exchanges a refresh token for a new access token and a new refresh token.
 	 * @param request the token refresh request containing the refresh token and username
-	 * @return a ResponseEntity containing an ApiResponse with the new JWT token
+	 * @return a ResponseEntity containing an ApiResponse with the new token pair
 	 */
 	ResponseEntity<?> refreshToken(@RequestBody TokenRefreshRequest request);
 
+	/**
+	 * Revokes the access token of the request and, if given, the refresh token.
+	 * @param authorization the Authorization header carrying the access token as a Bearer
+	 * token, otherwise the request is rejected as an invalid token
+	 * @param request the logout request, optionally containing the refresh token
+	 * @return a ResponseEntity containing an ApiResponse
+	 */
+	ResponseEntity<ApiResponse<Void>> logout(
+			@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+			@RequestBody(required = false) LogoutRequest request);
+
+	/**
+	 * Revokes every access and refresh token issued to the user of the request.
+	 * @param principal the authenticated user of the request
+	 * @return a ResponseEntity containing an ApiResponse
+	 */
+	ResponseEntity<ApiResponse<Void>> logoutEverywhere(@AuthenticationPrincipal AuthenticatedUser principal);
+
+	/**
+	 * Introspects many access tokens at once, so a gateway can check them in one round
+	 * trip.
+	 * @param request the introspection request containing the tokens
+	 * @return a ResponseEntity containing an ApiResponse with one result per token, in
+	 * the order of the tokens
+	 */
+	ResponseEntity<ApiResponse<List<IntrospectionResult>>> introspect(@RequestBody IntrospectionRequest request);
+
 }
\ No newline at end of file
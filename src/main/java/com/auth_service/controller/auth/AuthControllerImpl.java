@@ -1,39 +1,87 @@
 package com.auth_service.controller.auth;
 
+import com.auth_service.exception.InvalidJwtException;
+import com.auth_service.model.dto.IntrospectionRequest;
 import com.auth_service.model.dto.LoginRequest;
+import com.auth_service.model.dto.LogoutRequest;
 import com.auth_service.model.dto.TokenRefreshRequest;
 import com.auth_service.model.constants.SuccessMessages;
 import com.auth_service.model.response.ApiResponse;
+import com.auth_service.model.response.IntrospectionResult;
+import com.auth_service.model.response.TokenPair;
+import com.auth_service.model.security.AuthenticatedUser;
 import com.auth_service.service.auth.AuthService;
+import com.auth_service.service.auth.TokenIntrospectionService;
 import com.auth_service.common.util.api_response.ApiResponseUtil;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthControllerImpl implements AuthController {
 
+	private static final String BEARER_PREFIX = "Bearer ";
+
 	private final AuthService authService;
 
-	public AuthControllerImpl(AuthService authService) {
+	private final TokenIntrospectionService tokenIntrospectionService;
+
+	public AuthControllerImpl(AuthService authService, TokenIntrospectionService tokenIntrospectionService) {
 		this.authService = authService;
+		this.tokenIntrospectionService = tokenIntrospectionService;
 	}
 
 	@Override
 	@PostMapping("/login")
-	public ResponseEntity<ApiResponse<String>> login(@RequestBody LoginRequest loginRequest) {
-		String token = authService.authenticate(loginRequest.getIdentifier(), loginRequest.getPassword());
-		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.LOGIN_SUCCESSFUL, token));
+	public CompletableFuture<ResponseEntity<ApiResponse<TokenPair>>> login(@RequestBody LoginRequest loginRequest) {
+		return authService.authenticate(loginRequest.getIdentifier(), loginRequest.getPassword())
+				.thenApply(tokens -> ResponseEntity
+						.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.LOGIN_SUCCESSFUL, tokens)));
 	}
 
 	@Override
 	@PostMapping("/refresh")
-	public ResponseEntity<ApiResponse<String>> refreshToken(@RequestBody TokenRefreshRequest request) {
-		String refreshToken = authService.refreshToken(request.getRefreshToken(), request.getUserName());
-		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.TOKEN_REFRESHED, refreshToken));
+	public ResponseEntity<ApiResponse<TokenPair>> refreshToken(@RequestBody TokenRefreshRequest request) {
+		TokenPair tokens = authService.refreshToken(request.getRefreshToken(), request.getUserName());
+		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.TOKEN_REFRESHED, tokens));
+	}
+
+	@Override
+	@PostMapping("/logout")
+	public ResponseEntity<ApiResponse<Void>> logout(
+			@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+			@RequestBody(required = false) LogoutRequest request) {
+		if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+			throw new InvalidJwtException();
+		}
+		String accessToken = authorization.substring(BEARER_PREFIX.length());
+		authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.LOGOUT_SUCCESSFUL, null));
+	}
+
+	@Override
+	@PostMapping("/logout-all")
+	public ResponseEntity<ApiResponse<Void>> logoutEverywhere(@AuthenticationPrincipal AuthenticatedUser principal) {
+		authService.logoutEverywhere(principal.getId());
+		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.LOGOUT_SUCCESSFUL, null));
+	}
+
+	@Override
+	@PostMapping("/introspect/batch")
+	public ResponseEntity<ApiResponse<List<IntrospectionResult>>> introspect(
+			@RequestBody IntrospectionRequest request) {
+		List<String> tokens = request.getTokens() != null ? request.getTokens() : List.of();
+		List<IntrospectionResult> results = tokenIntrospectionService.introspect(tokens);
+		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.TOKENS_INTROSPECTED, results));
 	}
 
 }
\ No newline at end of file
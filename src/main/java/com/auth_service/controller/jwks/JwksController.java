@@ -0,0 +1,20 @@
+package com.auth_service.controller.jwks;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * JwksController interface. Defines the endpoint publishing the public signing keys.
+ */
+public interface JwksController {
+
+	/**
+	 * Returns the JSON Web Key Set of the public signing keys. The response carries an
+	 * entity tag and may be cached, and a request whose If-None-Match header matches the
+	 * current key set receives 304 Not Modified without a body.
+	 * @param request the web request
+	 * @return a ResponseEntity containing the key set, or an empty 304 response
+	 */
+	ResponseEntity<String> jwks(WebRequest request);
+
+}
@@ -0,0 +1,42 @@
+package com.auth_service.controller.jwks;
+
+import com.auth_service.common.util.jwt.JwkSet;
+import com.auth_service.common.util.jwt.JwtTokenEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+@RestController
+public class JwksControllerImpl implements JwksController {
+
+	private static final MediaType JWK_SET_JSON = MediaType.parseMediaType("application/jwk-set+json");
+
+	private final JwtTokenEngine tokenEngine;
+
+	private final CacheControl cacheControl;
+
+	public JwksControllerImpl(JwtTokenEngine tokenEngine, @Value("${auth.jwks.max-age}") Duration maxAge) {
+		this.tokenEngine = tokenEngine;
+		this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+	}
+
+	@Override
+	@GetMapping(value = "/.well-known/jwks.json", produces = { "application/jwk-set+json", "application/json" })
+	public ResponseEntity<String> jwks(WebRequest request) {
+		JwkSet jwkSet = tokenEngine.jwkSet();
+		if (request.checkNotModified(jwkSet.etag())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(jwkSet.etag()).cacheControl(cacheControl)
+					.build();
+		}
+		return ResponseEntity.ok().eTag(jwkSet.etag()).cacheControl(cacheControl).contentType(JWK_SET_JSON)
+				.body(jwkSet.json());
+	}
+
+}
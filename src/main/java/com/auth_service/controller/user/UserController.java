@@ -1,14 +1,23 @@
 package com.auth_service.controller.user;
 
+import com.auth_service.model.dto.UserSelectionRequest;
 import com.auth_service.model.entity.User;
 import com.auth_service.model.response.ApiResponse;
+import com.auth_service.model.response.BulkDeleteResult;
+import com.auth_service.model.response.BulkImportResult;
+import com.auth_service.model.response.BulkUpdateResult;
+import com.auth_service.model.response.CursorPage;
+import com.auth_service.model.response.UserSummary;
 import jakarta.validation.Valid;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * UserController interface. Defines the endpoints for managing users.
@@ -23,12 +32,23 @@ public interface UserController {
 	ResponseEntity<ApiResponse<EntityModel<User>>> findUser(@PathVariable int id);
 
 	/**
-	 * Creates a new user.
+	 * Creates a new user. The response is completed asynchronously once the password has
+	 * been hashed.
 	 * @param user the user entity to create
-	 * @return a ResponseEntity containing an ApiResponse with the location of the created
-	 * user
+	 * @return a future completing with a ResponseEntity containing an ApiResponse with
+	 * the location of the created user
 	 */
-	ResponseEntity<ApiResponse<Void>> createUser(@Valid @RequestBody User user);
+	CompletableFuture<ResponseEntity<ApiResponse<Void>>> createUser(@Valid @RequestBody User user);
+
+	/**
+	 * Imports many users at once. Invalid or duplicate rows are reported in the result
+	 * without failing the other rows. The response is completed asynchronously once every
+	 * chunk has been hashed and inserted.
+	 * @param users the users to import
+	 * @return a future completing with a ResponseEntity containing an ApiResponse with
+	 * the import result
+	 */
+	CompletableFuture<ResponseEntity<ApiResponse<BulkImportResult>>> importUsers(@RequestBody List<User> users);
 
 	/**
 	 * Deletes a user by ID.
@@ -39,10 +59,26 @@ public interface UserController {
 	ResponseEntity<ApiResponse<Void>> deleteUserById(@PathVariable int id);
 
 	/**
-	 * Retrieves all users.
-	 * @return a ResponseEntity containing an ApiResponse with the list of users
+	 * Deletes the users with the given IDs.
+	 * @param ids the IDs of the users to delete
+	 * @return a ResponseEntity containing an ApiResponse with the number of users deleted
+	 */
+	ResponseEntity<ApiResponse<BulkDeleteResult>> deleteUsers(@RequestParam(required = false) List<Long> ids);
+
+	/**
+	 * Retrieves a page of users ordered by ID.
+	 * @param after the cursor returned with the previous page, absent for the first page
+	 * @param limit the maximum number of users to return
+	 * @return a ResponseEntity containing an ApiResponse with the page of users
 	 */
-	ResponseEntity<ApiResponse<List<User>>> getAllUsers();
+	ResponseEntity<ApiResponse<CursorPage<UserSummary>>> getAllUsers(@RequestParam(required = false) Long after,
+			@RequestParam(defaultValue = "50") int limit);
+
+	/**
+	 * Streams all users as newline-delimited JSON, one user per line.
+	 * @return a ResponseEntity writing the users as they are read from the database
+	 */
+	ResponseEntity<StreamingResponseBody> streamAllUsers();
 
 	/**
 	 * Activates a user by ID.
@@ -52,4 +88,20 @@ public interface UserController {
 	 */
 	ResponseEntity<ApiResponse<Void>> activateUser(@PathVariable int id);
 
+	/**
+	 * Activates the selected users.
+	 * @param selection the IDs or the role of the users to activate
+	 * @return a ResponseEntity containing an ApiResponse with the number of users
+	 * activated
+	 */
+	ResponseEntity<ApiResponse<BulkUpdateResult>> activateUsers(@Valid @RequestBody UserSelectionRequest selection);
+
+	/**
+	 * Deactivates the selected users.
+	 * @param selection the IDs or the role of the users to deactivate
+	 * @return a ResponseEntity containing an ApiResponse with the number of users
+	 * deactivated
+	 */
+	ResponseEntity<ApiResponse<BulkUpdateResult>> deactivateUsers(@Valid @RequestBody UserSelectionRequest selection);
+
 }
\ No newline at end of file
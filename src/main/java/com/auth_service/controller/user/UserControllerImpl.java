@@ -1,18 +1,34 @@
 package com.auth_service.controller.user;
 
 import com.auth_service.model.constants.SuccessMessages;
+import com.auth_service.model.dto.UserSelectionRequest;
 import com.auth_service.model.entity.User;
 import com.auth_service.model.response.ApiResponse;
+import com.auth_service.model.response.BulkDeleteResult;
+import com.auth_service.model.response.BulkImportResult;
+import com.auth_service.model.response.BulkUpdateResult;
+import com.auth_service.model.response.CursorPage;
+import com.auth_service.model.response.UserSummary;
+import com.auth_service.service.user.UserBulkService;
 import com.auth_service.service.user.UserService;
 import com.auth_service.common.util.api_response.ApiResponseUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/users")
@@ -20,8 +36,14 @@ public class UserControllerImpl implements UserController {
 
 	private final UserService userService;
 
-	public UserControllerImpl(UserService userService) {
+	private final UserBulkService userBulkService;
+
+	private final ObjectMapper objectMapper;
+
+	public UserControllerImpl(UserService userService, UserBulkService userBulkService, ObjectMapper objectMapper) {
 		this.userService = userService;
+		this.userBulkService = userBulkService;
+		this.objectMapper = objectMapper;
 	}
 
 	@GetMapping("/{id}")
@@ -32,12 +54,19 @@ public class UserControllerImpl implements UserController {
 	}
 
 	@PostMapping
-	public ResponseEntity<ApiResponse<Void>> createUser(@Valid @RequestBody User user) {
-		User savedUser = userService.save(user);
-		URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(savedUser.getId())
-				.toUri();
-		return ResponseEntity.created(location)
-				.body(ApiResponseUtil.createSuccessResponse(SuccessMessages.USER_CREATED, null));
+	public CompletableFuture<ResponseEntity<ApiResponse<Void>>> createUser(@Valid @RequestBody User user) {
+		UriComponentsBuilder locationBuilder = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}");
+		return userService.save(user).thenApply(savedUser -> {
+			URI location = locationBuilder.buildAndExpand(savedUser.getId()).toUri();
+			return ResponseEntity.created(location)
+					.body(ApiResponseUtil.createSuccessResponse(SuccessMessages.USER_CREATED, null));
+		});
+	}
+
+	@PostMapping("/bulk")
+	public CompletableFuture<ResponseEntity<ApiResponse<BulkImportResult>>> importUsers(@RequestBody List<User> users) {
+		return userBulkService.importUsers(users).thenApply(result -> ResponseEntity
+				.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.USERS_IMPORTED, result)));
 	}
 
 	@DeleteMapping("/{id}")
@@ -46,16 +75,53 @@ public class UserControllerImpl implements UserController {
 		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.USER_DELETED, null));
 	}
 
+	@DeleteMapping
+	public ResponseEntity<ApiResponse<BulkDeleteResult>> deleteUsers(@RequestParam(required = false) List<Long> ids) {
+		BulkDeleteResult result = userBulkService.deleteUsers(ids);
+		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.USERS_DELETED, result));
+	}
+
 	@GetMapping
-	public ResponseEntity<ApiResponse<List<User>>> getAllUsers() {
-		List<User> users = userService.findAll();
+	public ResponseEntity<ApiResponse<CursorPage<UserSummary>>> getAllUsers(@RequestParam(required = false) Long after,
+			@RequestParam(defaultValue = "50") int limit) {
+		CursorPage<UserSummary> users = userService.findAll(after, limit);
 		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.USERS_RETRIEVED, users));
 	}
 
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+		StreamingResponseBody body = outputStream -> {
+			try (SequenceWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+					.withRootValueSeparator("\n").writeValues(outputStream)) {
+				userService.streamAll(user -> {
+					try {
+						writer.write(user);
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
 	@PutMapping("/{id}/activate")
 	public ResponseEntity<ApiResponse<Void>> activateUser(@PathVariable int id) {
 		String message = userService.activateUser(id);
 		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.USER_ACTIVATED, null));
 	}
 
+	@PutMapping("/activate")
+	public ResponseEntity<ApiResponse<BulkUpdateResult>> activateUsers(@RequestBody UserSelectionRequest selection) {
+		BulkUpdateResult result = userBulkService.setActive(selection, true);
+		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.USERS_ACTIVATED, result));
+	}
+
+	@PutMapping("/deactivate")
+	public ResponseEntity<ApiResponse<BulkUpdateResult>> deactivateUsers(@RequestBody UserSelectionRequest selection) {
+		BulkUpdateResult result = userBulkService.setActive(selection, false);
+		return ResponseEntity.ok(ApiResponseUtil.createSuccessResponse(SuccessMessages.USERS_DEACTIVATED, result));
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.auth_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * BulkImportTooLargeException class. Thrown when a bulk import contains more users than
+ * one request is allowed to import.
+ */
+@ResponseStatus(code = HttpStatus.PAYLOAD_TOO_LARGE)
+public class BulkImportTooLargeException extends RuntimeException {
+
+}
@@ -5,6 +5,7 @@ import com.auth_service.model.constants.ErrorMessages;
 import com.auth_service.model.response.ApiResponse;
 import com.auth_service.common.util.api_response.ApiResponseUtil;
 import io.jsonwebtoken.ExpiredJwtException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -136,6 +137,19 @@ public class CustomExceptionHandler {
 		return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
 	}
 
+	/**
+	 * @description Handles the InvalidJwtException.
+	 * @param ex the exception
+	 * @return a ResponseEntity containing an ApiResponse with the error message
+	 */
+	@ExceptionHandler(InvalidJwtException.class)
+	@ResponseStatus(HttpStatus.UNAUTHORIZED)
+	public ResponseEntity<ApiResponse<Void>> handleInvalidJwtException(InvalidJwtException ex) {
+		ApiResponse<Void> response = ApiResponseUtil.createErrorResponse(ErrorMessages.INVALID_JWT_TOKEN, null,
+				ErrorCode.ERR_INVALID_JWT.getCode());
+		return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+	}
+
 	/**
 	 * @description Handles the ExpiredJwtException.
 	 * @param ex the exception
@@ -175,4 +189,59 @@ public class CustomExceptionHandler {
 		return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
 	}
 
-}
\ No newline at end of file
+	/**
+	 * @description Handles the PasswordHashingUnavailableException.
+	 * @param ex the exception
+	 * @return a ResponseEntity containing an ApiResponse with the error message
+	 */
+	@ExceptionHandler(PasswordHashingUnavailableException.class)
+	@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+	public ResponseEntity<ApiResponse<Void>> handlePasswordHashingUnavailableException(
+			PasswordHashingUnavailableException ex) {
+		ApiResponse<Void> response = ApiResponseUtil.createErrorResponse(ErrorMessages.PASSWORD_HASHING_UNAVAILABLE,
+				null, ErrorCode.ERR_PASSWORD_HASHING_UNAVAILABLE.getCode());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+				.body(response);
+	}
+
+	/**
+	 * @description Handles the BulkImportTooLargeException.
+	 * @param ex the exception
+	 * @return a ResponseEntity containing an ApiResponse with the error message
+	 */
+	@ExceptionHandler(BulkImportTooLargeException.class)
+	@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+	public ResponseEntity<ApiResponse<Void>> handleBulkImportTooLargeException(BulkImportTooLargeException ex) {
+		ApiResponse<Void> response = ApiResponseUtil.createErrorResponse(ErrorMessages.BULK_IMPORT_TOO_LARGE, null,
+				ErrorCode.ERR_BULK_IMPORT_TOO_LARGE.getCode());
+		return new ResponseEntity<>(response, HttpStatus.PAYLOAD_TOO_LARGE);
+	}
+
+	/**
+	 * @description Handles the IntrospectionBatchTooLargeException.
+	 * @param ex the exception
+	 * @return a ResponseEntity containing an ApiResponse with the error message
+	 */
+	@ExceptionHandler(IntrospectionBatchTooLargeException.class)
+	@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+	public ResponseEntity<ApiResponse<Void>> handleIntrospectionBatchTooLargeException(
+			IntrospectionBatchTooLargeException ex) {
+		ApiResponse<Void> response = ApiResponseUtil.createErrorResponse(ErrorMessages.INTROSPECTION_BATCH_TOO_LARGE,
+				null, ErrorCode.ERR_INTROSPECTION_BATCH_TOO_LARGE.getCode());
+		return new ResponseEntity<>(response, HttpStatus.PAYLOAD_TOO_LARGE);
+	}
+
+	/**
+	 * @description Handles the InvalidBulkRequestException.
+	 * @param ex the exception
+	 * @return a ResponseEntity containing an ApiResponse with the error message
+	 */
+	@ExceptionHandler(InvalidBulkRequestException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ResponseEntity<ApiResponse<Void>> handleInvalidBulkRequestException(InvalidBulkRequestException ex) {
+		ApiResponse<Void> response = ApiResponseUtil.createErrorResponse(ex.getMessage(), null,
+				ErrorCode.ERR_INVALID_BULK_REQUEST.getCode());
+		return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+	}
+
+}
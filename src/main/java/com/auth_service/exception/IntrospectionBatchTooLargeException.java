@@ -0,0 +1,13 @@
+package com.auth_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * IntrospectionBatchTooLargeException class. Thrown when a batch introspection request
+ * contains more tokens than one request is allowed to introspect.
+ */
+@ResponseStatus(code = HttpStatus.PAYLOAD_TOO_LARGE)
+public class IntrospectionBatchTooLargeException extends RuntimeException {
+
+}
@@ -0,0 +1,18 @@
+package com.auth_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * InvalidBulkRequestException class. Thrown when a request operating on many users is
+ * malformed as a whole, such as a null import row or an empty selection. The message
+ * describes what is wrong.
+ */
+@ResponseStatus(code = HttpStatus.BAD_REQUEST)
+public class InvalidBulkRequestException extends RuntimeException {
+
+	public InvalidBulkRequestException(String message) {
+		super(message);
+	}
+
+}
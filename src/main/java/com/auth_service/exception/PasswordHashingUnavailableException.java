@@ -0,0 +1,13 @@
+package com.auth_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * PasswordHashingUnavailableException class. Thrown when the password hashing pool is
+ * saturated and cannot accept more work.
+ */
+@ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+}
@@ -0,0 +1,183 @@
+package com.auth_service.filter;
+
+import com.auth_service.common.logging.AccessLogEvent;
+import com.auth_service.common.logging.AccessLogWriter;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * AccessLogFilter class. Records one access log event per request, including the time
+ * spent in the security filters. Failed requests are always logged, successful ones
+ * according to the sampling rate. Only allow-listed headers are captured, and sensitive
+ * ones are redacted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+	private static final String REDACTED = "[REDACTED]";
+
+	private final AccessLogWriter accessLogWriter;
+
+	private final boolean enabled;
+
+	private final double successSampleRate;
+
+	private final List<String> headers;
+
+	private final Set<String> redactedHeaders;
+
+	public AccessLogFilter(AccessLogWriter accessLogWriter, @Value("${auth.access-log.enabled}") boolean enabled,
+			@Value("${auth.access-log.success-sample-rate}") double successSampleRate,
+			@Value("${auth.access-log.headers}") List<String> headers,
+			@Value("${auth.access-log.redacted-headers}") List<String> redactedHeaders) {
+		this.accessLogWriter = accessLogWriter;
+		this.enabled = enabled;
+		this.successSampleRate = successSampleRate;
+		this.headers = headers.stream().map(AccessLogFilter::normalize).filter(header -> !header.isEmpty()).toList();
+		this.redactedHeaders = redactedHeaders.stream().map(AccessLogFilter::normalize).collect(Collectors.toSet());
+	}
+
+	/**
+	 * Runs the request and logs it once the response is complete, which for asynchronous
+	 * requests is after the async processing finishes.
+	 * @param request the HTTP request
+	 * @param response the HTTP response
+	 * @param chain the filter chain
+	 * @throws ServletException if a servlet exception occurs
+	 * @throws IOException if an I/O exception occurs
+	 */
+	@Override
+	protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+			@NonNull FilterChain chain) throws ServletException, IOException {
+		if (!enabled) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		long startedAt = System.nanoTime();
+		try {
+			chain.doFilter(request, response);
+		}
+		finally {
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new CompletionListener(request, response, startedAt));
+			}
+			else {
+				record(request, response, startedAt);
+			}
+		}
+	}
+
+	/**
+	 * Publishes the access log event of a completed request if it is sampled.
+	 * @param request the HTTP request
+	 * @param response the HTTP response
+	 * @param startedAt the value of {@link System#nanoTime()} when the request started
+	 */
+	private void record(HttpServletRequest request, HttpServletResponse response, long startedAt) {
+		int status = response.getStatus();
+		if (status < 400 && !isSampled()) {
+			return;
+		}
+
+		long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+		accessLogWriter.publish(new AccessLogEvent(System.currentTimeMillis(), request.getMethod(),
+				request.getRequestURI(), status, latencyMicros, request.getRemoteAddr(), captureHeaders(request)));
+	}
+
+	/**
+	 * Decides whether a successful request is logged.
+	 * @return true if the request is logged
+	 */
+	private boolean isSampled() {
+		return successSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < successSampleRate;
+	}
+
+	/**
+	 * Captures the allow-listed headers of the request, redacting sensitive values.
+	 * @param request the HTTP request
+	 * @return the captured headers
+	 */
+	private Map<String, String> captureHeaders(HttpServletRequest request) {
+		if (headers.isEmpty()) {
+			return Map.of();
+		}
+
+		Map<String, String> captured = new LinkedHashMap<>();
+		for (String header : headers) {
+			String value = request.getHeader(header);
+			if (value != null) {
+				captured.put(header, redactedHeaders.contains(header) ? REDACTED : value);
+			}
+		}
+		return captured;
+	}
+
+	/**
+	 * Normalizes a configured header name.
+	 * @param header the header name
+	 * @return the trimmed, lower-cased header name
+	 */
+	private static String normalize(String header) {
+		return header.trim().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * CompletionListener class. Logs an asynchronous request once its response is
+	 * complete.
+	 */
+	private final class CompletionListener implements AsyncListener {
+
+		private final HttpServletRequest request;
+
+		private final HttpServletResponse response;
+
+		private final long startedAt;
+
+		CompletionListener(HttpServletRequest request, HttpServletResponse response, long startedAt) {
+			this.request = request;
+			this.response = response;
+			this.startedAt = startedAt;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			record(request, response, startedAt);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+
+	}
+
+}
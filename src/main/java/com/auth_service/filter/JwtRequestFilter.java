@@ -5,15 +5,23 @@ import com.auth_service.exception.InvalidSignatureException;
 import com.auth_service.model.constants.ErrorCode;
 import com.auth_service.model.constants.ErrorMessages;
 import com.auth_service.model.response.ApiResponse;
+import com.auth_service.model.security.AuthenticatedUser;
 import com.auth_service.common.util.api_response.ApiResponseUtil;
 import com.auth_service.common.util.jwt.JwtUtilImpl;
+import com.auth_service.common.util.jwt.TokenDenylist;
+import com.auth_service.common.util.jwt.TokenVersionRegistry;
+import com.auth_service.common.util.jwt.VerifiedToken;
+import com.auth_service.common.util.jwt.VerifiedTokenCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +32,10 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * JwtRequestFilter class. Filter that intercepts requests and validates JWT tokens.
@@ -31,13 +43,45 @@ import java.util.Collections;
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
 	private final JwtUtilImpl jwtUtil;
 
 	private final UserDetailsService userDetailsService;
 
-	public JwtRequestFilter(JwtUtilImpl jwtUtil, UserDetailsService userDetailsService) {
+	private final VerifiedTokenCache verifiedTokenCache;
+
+	private final TokenDenylist tokenDenylist;
+
+	private final TokenVersionRegistry tokenVersionRegistry;
+
+	/**
+	 * Whether the principal is built from the verified claims instead of being loaded
+	 * from the database on every request.
+	 */
+	private final boolean statelessPrincipal;
+
+	/**
+	 * The number of bearer tokens processed, by outcome.
+	 */
+	private final Map<String, Counter> outcomeCounters;
+
+	public JwtRequestFilter(JwtUtilImpl jwtUtil, UserDetailsService userDetailsService,
+			VerifiedTokenCache verifiedTokenCache, TokenDenylist tokenDenylist,
+			TokenVersionRegistry tokenVersionRegistry,
+			@Value("${auth.security.stateless-principal.enabled}") boolean statelessPrincipal,
+			MeterRegistry meterRegistry) {
 		this.jwtUtil = jwtUtil;
 		this.userDetailsService = userDetailsService;
+		this.verifiedTokenCache = verifiedTokenCache;
+		this.tokenDenylist = tokenDenylist;
+		this.tokenVersionRegistry = tokenVersionRegistry;
+		this.statelessPrincipal = statelessPrincipal;
+		this.outcomeCounters = Stream.of("valid", "expired", "revoked", "invalid_signature", "invalid")
+				.collect(Collectors.toUnmodifiableMap(Function.identity(),
+						outcome -> Counter.builder("auth.jwt.filter.requests")
+								.description("Requests carrying a bearer token, by token outcome")
+								.tag("outcome", outcome).register(meterRegistry)));
 	}
 
 	/**
@@ -73,29 +117,57 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 	private boolean processToken(String jwtToken, HttpServletRequest request, HttpServletResponse response)
 			throws IOException {
 		try {
-			String username = jwtUtil.extractUsername(jwtToken);
-			String role = jwtUtil.extractRole(jwtToken).name();
+			VerifiedToken verifiedToken = verifiedTokenCache.get(jwtToken, jwtUtil::verifyToken);
+			if (verifiedToken.isRefreshToken()) {
+				throw new InvalidJwtException();
+			}
+			if (!tokenVersionRegistry.isCurrent(verifiedToken.getUserId(), verifiedToken.getVersion())
+					|| tokenDenylist.isRevoked(verifiedToken.getTokenId())) {
+				outcomeCounters.get("revoked").increment();
+				sendErrorResponse(response, ErrorMessages.REVOKED_JWT_TOKEN);
+				return false;
+			}
+			String username = verifiedToken.getSubject();
 
 			if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-				UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-				if (jwtUtil.validateToken(jwtToken, userDetails.getUsername())) {
-					setAuthenticationForUser(request, userDetails, role);
+				UserDetails userDetails = resolvePrincipal(verifiedToken);
+				if (jwtUtil.validateToken(verifiedToken, userDetails.getUsername())) {
+					setAuthenticationForUser(request, userDetails, verifiedToken.getRole().name());
 				}
 			}
+			outcomeCounters.get("valid").increment();
 			return true;
 		}
 		catch (IllegalArgumentException | InvalidJwtException e) {
+			outcomeCounters.get("invalid").increment();
 			sendErrorResponse(response, ErrorMessages.INVALID_JWT_TOKEN);
 		}
 		catch (InvalidSignatureException e) {
+			outcomeCounters.get("invalid_signature").increment();
 			sendErrorResponse(response, ErrorMessages.INVALID_SIGNATURE);
 		}
 		catch (ExpiredJwtException e) {
+			outcomeCounters.get("expired").increment();
 			sendErrorResponse(response, ErrorMessages.EXPIRED_JWT_TOKEN);
 		}
 		return false;
 	}
 
+	/**
+	 * Resolves the principal of the request. In stateless mode the principal is built
+	 * from the verified claims; tokens issued without a user id fall back to the
+	 * database.
+	 * @param verifiedToken the verified JWT token
+	 * @return the user details of the principal
+	 */
+	private UserDetails resolvePrincipal(VerifiedToken verifiedToken) {
+		if (statelessPrincipal && verifiedToken.getUserId() != null && verifiedToken.getRole() != null) {
+			return new AuthenticatedUser(verifiedToken.getUserId(), verifiedToken.getSubject(),
+					verifiedToken.getRole());
+		}
+		return userDetailsService.loadUserByUsername(verifiedToken.getSubject());
+	}
+
 	/**
 	 * Sends an error response to the client.
 	 * @param response the HTTP response
@@ -107,8 +179,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		response.setContentType("application/json;charset=UTF-8");
 		ApiResponse<Void> apiResponse = ApiResponseUtil.createErrorResponse(message, null,
 				ErrorCode.ERR_INVALID_JWT.getCode());
-		ObjectMapper mapper = new ObjectMapper();
-		response.getWriter().write(mapper.writeValueAsString(apiResponse));
+		response.getWriter().write(OBJECT_MAPPER.writeValueAsString(apiResponse));
 	}
 
 	/**
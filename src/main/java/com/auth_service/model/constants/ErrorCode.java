@@ -9,7 +9,11 @@ public enum ErrorCode {
 			"GEN_001"), ERR_EMAIL_EXISTS("USR_003"), ERR_USERNAME_EXISTS("USR_004"), ERR_INVALID_CREDENTIALS(
 					"AUTH_002"), ERR_USERNAME_NOT_FOUND("USR_005"), ERR_INVALID_SIGNATURE("AUTH_003"), ERR_EXPIRED_JWT(
 							"AUTH_005"), ERR_INVALID_JWT("AUTH_006"), ERR_INVALID_AWS_SECRET_VALUE(
-									"AUTH_007"), ERR_INVALID_AWS_SECRET_STRING("AUTH_008");
+									"AUTH_007"), ERR_INVALID_AWS_SECRET_STRING(
+											"AUTH_008"), ERR_PASSWORD_HASHING_UNAVAILABLE(
+													"GEN_002"), ERR_BULK_IMPORT_TOO_LARGE(
+															"USR_006"), ERR_INTROSPECTION_BATCH_TOO_LARGE(
+																	"AUTH_009"), ERR_INVALID_BULK_REQUEST("USR_007");
 
 	private final String code;
 
@@ -9,6 +9,8 @@ public class ErrorMessages {
 
 	public static final String EXPIRED_JWT_TOKEN = "Failed with error: JWT token has expired.";
 
+	public static final String REVOKED_JWT_TOKEN = "Failed with error: JWT token has been revoked.";
+
 	public static final String ACCESS_DENIED = "Failed with error: Access denied.";
 
 	public static final String USER_NOT_FOUND = "Failed with error: User not found.";
@@ -31,4 +33,18 @@ public class ErrorMessages {
 
 	public static final String INVALID_AWS_SECRET_STRING = "Failed with error: Invalid AWS secret string.";
 
+	public static final String BULK_IMPORT_TOO_LARGE = "Failed with error: Too many users in one import.";
+
+	public static final String BULK_IMPORT_NULL_USER = "Failed with error: Import rows must not be null.";
+
+	public static final String USER_SELECTION_INVALID = "Failed with error: Either ids or role is required, but not both.";
+
+	public static final String USER_IDS_EMPTY = "Failed with error: User IDs must not be empty or contain null.";
+
+	public static final String USER_IDS_TOO_MANY = "Failed with error: Too many user IDs in one request.";
+
+	public static final String INTROSPECTION_BATCH_TOO_LARGE = "Failed with error: Too many tokens in one introspection.";
+
+	public static final String PASSWORD_HASHING_UNAVAILABLE = "Failed with error: Too many concurrent requests. Try again later.";
+
 }
\ No newline at end of file
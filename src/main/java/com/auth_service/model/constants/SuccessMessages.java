@@ -11,12 +11,24 @@ public class SuccessMessages {
 
 	public static final String USER_DELETED = "User deleted successfully.";
 
+	public static final String USERS_DELETED = "Users deleted.";
+
 	public static final String USERS_RETRIEVED = "Users retrieved successfully.";
 
+	public static final String USERS_IMPORTED = "Users imported.";
+
 	public static final String USER_ACTIVATED = "User activated successfully.";
 
+	public static final String USERS_ACTIVATED = "Users activated.";
+
+	public static final String USERS_DEACTIVATED = "Users deactivated.";
+
 	public static final String LOGIN_SUCCESSFUL = "Login successful.";
 
 	public static final String TOKEN_REFRESHED = "Token refreshed successfully.";
 
+	public static final String LOGOUT_SUCCESSFUL = "Logout successful.";
+
+	public static final String TOKENS_INTROSPECTED = "Tokens introspected.";
+
 }
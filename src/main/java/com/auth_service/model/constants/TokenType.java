@@ -0,0 +1,11 @@
+package com.auth_service.model.constants;
+
+/**
+ * TokenType enum. Represents the kinds of JWT tokens issued, stored in the {@code typ}
+ * claim.
+ */
+public enum TokenType {
+
+	ACCESS, REFRESH
+
+}
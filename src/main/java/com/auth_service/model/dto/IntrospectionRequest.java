@@ -0,0 +1,33 @@
+package com.auth_service.model.dto;
+
+import java.util.List;
+
+/**
+ * IntrospectionRequest class. Used for mapping the batch introspection request JSON to a
+ * Java object.
+ */
+public class IntrospectionRequest {
+
+	private List<String> tokens;
+
+	public IntrospectionRequest() {
+	}
+
+	public IntrospectionRequest(List<String> tokens) {
+		this.tokens = tokens;
+	}
+
+	public List<String> getTokens() {
+		return tokens;
+	}
+
+	public void setTokens(List<String> tokens) {
+		this.tokens = tokens;
+	}
+
+	@Override
+	public String toString() {
+		return "IntrospectionRequest{" + "tokens=" + (tokens != null ? tokens.size() : 0) + '}';
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.auth_service.model.dto;
+
+/**
+ * LogoutRequest class. Used for mapping the logout request JSON to a Java object. The
+ * refresh token is optional; when present, its family is revoked as well.
+ */
+public class LogoutRequest {
+
+	private String refreshToken;
+
+	public LogoutRequest() {
+	}
+
+	public LogoutRequest(String refreshToken) {
+		this.refreshToken = refreshToken;
+	}
+
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+
+	public void setRefreshToken(String refreshToken) {
+		this.refreshToken = refreshToken;
+	}
+
+	@Override
+	public String toString() {
+		return "LogoutRequest{" + "refreshToken='" + refreshToken + '\'' + '}';
+	}
+
+}
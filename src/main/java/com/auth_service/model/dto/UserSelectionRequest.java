@@ -0,0 +1,46 @@
+package com.auth_service.model.dto;
+
+import com.auth_service.model.constants.Role;
+
+import java.util.List;
+
+/**
+ * UserSelectionRequest class. Used for mapping the users targeted by a bulk operation,
+ * either an explicit list of IDs or every user with a given role.
+ */
+public class UserSelectionRequest {
+
+	private List<Long> ids;
+
+	private Role role;
+
+	public UserSelectionRequest() {
+	}
+
+	public UserSelectionRequest(List<Long> ids, Role role) {
+		this.ids = ids;
+		this.role = role;
+	}
+
+	public List<Long> getIds() {
+		return ids;
+	}
+
+	public void setIds(List<Long> ids) {
+		this.ids = ids;
+	}
+
+	public Role getRole() {
+		return role;
+	}
+
+	public void setRole(Role role) {
+		this.role = role;
+	}
+
+	@Override
+	public String toString() {
+		return "UserSelectionRequest{" + "ids=" + ids + ", role=" + role + '}';
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.auth_service.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * AccessTokenRevocation class. Represents an access token revoked before its expiration.
+ */
+@Entity(name = "access_token_revocation")
+public class AccessTokenRevocation {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long version;
+
+	@Column(name = "token_id", nullable = false)
+	private UUID tokenId;
+
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+
+	@Column(name = "revoked_at", nullable = false)
+	private Instant revokedAt;
+
+	public AccessTokenRevocation() {
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public UUID getTokenId() {
+		return tokenId;
+	}
+
+	public Instant getExpiresAt() {
+		return expiresAt;
+	}
+
+	public Instant getRevokedAt() {
+		return revokedAt;
+	}
+
+}
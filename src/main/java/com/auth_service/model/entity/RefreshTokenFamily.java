@@ -0,0 +1,56 @@
+package com.auth_service.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * RefreshTokenFamily class. Represents the chain of refresh tokens issued from a single
+ * login. Only the id of the latest token of the chain is stored.
+ */
+@Entity(name = "refresh_token_family")
+public class RefreshTokenFamily {
+
+	@Id
+	@Column(name = "family_id")
+	private UUID familyId;
+
+	@Column(name = "user_id", nullable = false)
+	private Long userId;
+
+	@Column(name = "current_token_id", nullable = false)
+	private UUID currentTokenId;
+
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+
+	@Column(nullable = false)
+	private boolean revoked;
+
+	public RefreshTokenFamily() {
+	}
+
+	public UUID getFamilyId() {
+		return familyId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public UUID getCurrentTokenId() {
+		return currentTokenId;
+	}
+
+	public Instant getExpiresAt() {
+		return expiresAt;
+	}
+
+	public boolean isRevoked() {
+		return revoked;
+	}
+
+}
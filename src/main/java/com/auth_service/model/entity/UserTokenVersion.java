@@ -0,0 +1,41 @@
+package com.auth_service.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import java.time.Instant;
+
+/**
+ * UserTokenVersion class. Represents the token version of a user. Tokens signed with a
+ * lower version are no longer accepted.
+ */
+@Entity(name = "user_token_version")
+public class UserTokenVersion {
+
+	@Id
+	@Column(name = "user_id")
+	private Long userId;
+
+	@Column(name = "token_version", nullable = false)
+	private int tokenVersion;
+
+	@Column(name = "updated_at", nullable = false)
+	private Instant updatedAt;
+
+	public UserTokenVersion() {
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public int getTokenVersion() {
+		return tokenVersion;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+}
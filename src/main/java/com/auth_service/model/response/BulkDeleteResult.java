@@ -0,0 +1,9 @@
+package com.auth_service.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * BulkDeleteResult record. Outcome of a bulk delete: the number of users deleted.
+ */
+public record BulkDeleteResult(@JsonProperty("deleted") int deleted) {
+}
@@ -0,0 +1,10 @@
+package com.auth_service.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * BulkImportError record. Reason why one row of a bulk import was not imported.
+ */
+public record BulkImportError(@JsonProperty("index") int index, @JsonProperty("errorCode") String errorCode,
+		@JsonProperty("message") String message) {
+}
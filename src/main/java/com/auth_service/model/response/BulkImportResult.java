@@ -0,0 +1,13 @@
+package com.auth_service.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * BulkImportResult record. Outcome of a bulk import: the number of users created and the
+ * rows that were rejected, identified by their index in the request.
+ */
+public record BulkImportResult(@JsonProperty("created") int created,
+		@JsonProperty("errors") List<BulkImportError> errors) {
+}
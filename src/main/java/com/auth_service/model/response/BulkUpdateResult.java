@@ -0,0 +1,9 @@
+package com.auth_service.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * BulkUpdateResult record. Outcome of a bulk update: the number of users changed.
+ */
+public record BulkUpdateResult(@JsonProperty("updated") int updated) {
+}
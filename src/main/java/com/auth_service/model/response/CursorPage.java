@@ -0,0 +1,44 @@
+package com.auth_service.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * CursorPage class. Represents one page of a keyset-paginated listing. The next cursor is
+ * the key of the last item of the page, absent on the last page.
+ *
+ * @param <T> The type of the items.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+	@JsonProperty("items")
+	private List<T> items;
+
+	@JsonProperty("nextCursor")
+	private Long nextCursor;
+
+	public CursorPage(List<T> items, Long nextCursor) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	public void setItems(List<T> items) {
+		this.items = items;
+	}
+
+	public Long getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(Long nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+}
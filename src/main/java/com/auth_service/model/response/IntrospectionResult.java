@@ -0,0 +1,16 @@
+package com.auth_service.model.response;
+
+import com.auth_service.model.constants.Role;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * IntrospectionResult record. The introspection of one token: whether it is active and,
+ * only when it is, the username, the current role of the user and the expiration in
+ * seconds since the epoch.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IntrospectionResult(boolean active, String sub, Role role, Long exp) {
+
+	public static final IntrospectionResult INACTIVE = new IntrospectionResult(false, null, null, null);
+
+}
@@ -0,0 +1,11 @@
+package com.auth_service.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * TokenPair record. The access token and the refresh token issued on login and on every
+ * refresh.
+ */
+public record TokenPair(@JsonProperty("access_token") String accessToken,
+		@JsonProperty("refresh_token") String refreshToken) {
+}
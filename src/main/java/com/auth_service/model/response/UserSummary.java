@@ -0,0 +1,13 @@
+package com.auth_service.model.response;
+
+import com.auth_service.model.constants.Role;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * UserSummary record. Flat read model of a user and its person, used when listing users.
+ */
+public record UserSummary(@JsonProperty("id") Long id, @JsonProperty("user_name") String userName,
+		@JsonProperty("role") Role role, @JsonProperty("active") Boolean active,
+		@JsonProperty("first_name") String firstName, @JsonProperty("last_name") String lastName,
+		@JsonProperty("email") String email, @JsonProperty("phone") String phone) {
+}
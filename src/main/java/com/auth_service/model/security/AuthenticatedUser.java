@@ -0,0 +1,88 @@
+package com.auth_service.model.security;
+
+import com.auth_service.model.constants.Role;
+import com.auth_service.model.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * AuthenticatedUser class. Lightweight principal of an authenticated request, holding
+ * only what the service needs downstream: the user id, the username, the role and whether
+ * the user is active.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+	private final Long id;
+
+	private final String userName;
+
+	private final Role role;
+
+	private final boolean active;
+
+	private final List<GrantedAuthority> authorities;
+
+	public AuthenticatedUser(Long id, String userName, Role role) {
+		this(id, userName, role, true);
+	}
+
+	public AuthenticatedUser(Long id, String userName, Role role, Boolean active) {
+		this.id = id;
+		this.userName = userName;
+		this.role = role;
+		this.active = Boolean.TRUE.equals(active);
+		this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+	}
+
+	/**
+	 * Creates the principal from a user entity.
+	 * @param user the user entity
+	 * @return the authenticated user
+	 */
+	public static AuthenticatedUser from(User user) {
+		return new AuthenticatedUser(user.getId(), user.getUserName(), user.getRole(), user.getActive());
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getUserName() {
+		return userName;
+	}
+
+	public Role getRole() {
+		return role;
+	}
+
+	@Override
+	public Collection<? extends GrantedAuthority> getAuthorities() {
+		return authorities;
+	}
+
+	@Override
+	public String getPassword() {
+		return null;
+	}
+
+	@Override
+	public String getUsername() {
+		return userName;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return active;
+	}
+
+	@Override
+	public String toString() {
+		return "AuthenticatedUser{" + "id=" + id + ", userName='" + userName + '\'' + ", role=" + role + ", active="
+				+ active + '}';
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.auth_service.model.security;
+
+import com.auth_service.model.constants.Role;
+
+/**
+ * LoginCredentials record. Read model of the login path: only the columns needed to
+ * verify a password and issue a token.
+ */
+public record LoginCredentials(Long id, String userName, String password, Role role, Boolean active) {
+
+	/**
+	 * @description Checks if the user is allowed to log in.
+	 * @return true if the user is active, false otherwise
+	 */
+	public boolean isEnabled() {
+		return Boolean.TRUE.equals(active);
+	}
+
+	@Override
+	public String toString() {
+		return "LoginCredentials{" + "id=" + id + ", userName='" + userName + '\'' + ", role=" + role + ", active="
+				+ active + '}';
+	}
+
+}
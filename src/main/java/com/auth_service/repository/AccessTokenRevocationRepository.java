@@ -0,0 +1,52 @@
+package com.auth_service.repository;
+
+import com.auth_service.model.entity.AccessTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * AccessTokenRevocationRepository interface. Extends JpaRepository.
+ */
+@Repository
+public interface AccessTokenRevocationRepository extends JpaRepository<AccessTokenRevocation, Long> {
+
+	@Modifying
+	@Query(value = "insert into access_token_revocation (token_id, expires_at) values (:tokenId, :expiresAt) "
+			+ "on conflict (token_id) do nothing", nativeQuery = true)
+	int insertRevocation(@Param("tokenId") UUID tokenId, @Param("expiresAt") Instant expiresAt);
+
+	@Query("select r from access_token_revocation r where r.expiresAt > :now")
+	List<AccessTokenRevocation> findActive(@Param("now") Instant now);
+
+	/**
+	 * Finds the revocations added after a version. Versions are assigned when rows are
+	 * inserted but become visible when they commit, so the revocations of the last minute
+	 * are read again to pick up rows committed out of order.
+	 * @param afterVersion the highest version already read
+	 * @return the revocations, ordered by version
+	 */
+	@Query(value = "select * from access_token_revocation where version > :afterVersion "
+			+ "or revoked_at > now() - interval '1 minute' order by version", nativeQuery = true)
+	List<AccessTokenRevocation> findChangedSince(@Param("afterVersion") long afterVersion);
+
+	/**
+	 * Deletes up to {@code batchSize} revocations of expired tokens. Rows locked by
+	 * another instance sweeping at the same time are skipped.
+	 * @param now the current time
+	 * @param batchSize the maximum number of revocations to delete
+	 * @return the number of revocations deleted
+	 */
+	@Modifying
+	@Query(value = "delete from access_token_revocation where version in (select version "
+			+ "from access_token_revocation where expires_at < :now limit :batchSize for update skip locked)",
+			nativeQuery = true)
+	int deleteExpired(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+}
@@ -2,12 +2,20 @@ package com.auth_service.repository;
 
 import com.auth_service.model.entity.Person;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * PersonRepository interface. Extends JpaRepository.
  */
 @Repository
 public interface PersonRepository extends JpaRepository<Person, Long> {
 
+	@Query("select lower(p.email) from Person p where lower(p.email) in :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
 }
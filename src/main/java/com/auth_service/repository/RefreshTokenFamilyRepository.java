@@ -0,0 +1,59 @@
+package com.auth_service.repository;
+
+import com.auth_service.model.entity.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * RefreshTokenFamilyRepository interface. Extends JpaRepository. Families are only
+ * written through single-statement queries, so no family is read before it is changed.
+ */
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, UUID> {
+
+	@Modifying
+	@Query(value = "insert into refresh_token_family (family_id, user_id, current_token_id, expires_at, revoked) "
+			+ "values (:familyId, :userId, :tokenId, :expiresAt, false)", nativeQuery = true)
+	int insertFamily(@Param("familyId") UUID familyId, @Param("userId") Long userId, @Param("tokenId") UUID tokenId,
+			@Param("expiresAt") Instant expiresAt);
+
+	/**
+	 * Replaces the current token of a family, only if the presented token is still the
+	 * current one and the family is neither revoked nor expired.
+	 * @param familyId the id of the family
+	 * @param tokenId the id of the presented token
+	 * @param nextTokenId the id of the token replacing it
+	 * @param expiresAt the expiration of the replacing token
+	 * @param now the current time
+	 * @return 1 if the token was rotated, 0 otherwise
+	 */
+	@Modifying
+	@Query("update refresh_token_family f set f.currentTokenId = :nextTokenId, f.expiresAt = :expiresAt "
+			+ "where f.familyId = :familyId and f.currentTokenId = :tokenId and f.revoked = false "
+			+ "and f.expiresAt > :now")
+	int rotate(@Param("familyId") UUID familyId, @Param("tokenId") UUID tokenId, @Param("nextTokenId") UUID nextTokenId,
+			@Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+	@Modifying
+	@Query("update refresh_token_family f set f.revoked = true where f.familyId = :familyId and f.revoked = false")
+	int revoke(@Param("familyId") UUID familyId);
+
+	/**
+	 * Deletes up to {@code batchSize} expired families. Rows locked by another instance
+	 * sweeping at the same time are skipped.
+	 * @param now the current time
+	 * @param batchSize the maximum number of families to delete
+	 * @return the number of families deleted
+	 */
+	@Modifying
+	@Query(value = "delete from refresh_token_family where family_id in (select family_id from refresh_token_family "
+			+ "where expires_at < :now limit :batchSize for update skip locked)", nativeQuery = true)
+	int deleteExpired(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+}
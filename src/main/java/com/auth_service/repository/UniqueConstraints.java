@@ -0,0 +1,59 @@
+package com.auth_service.repository;
+
+import com.auth_service.exception.UniqueEmailException;
+import com.auth_service.exception.UniqueUserNameException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * UniqueConstraints class. Maps violations of the unique indexes created by the schema
+ * migrations to the exceptions of the API, so duplicates are detected by the database in
+ * the same statement that inserts the row.
+ */
+public final class UniqueConstraints {
+
+	/**
+	 * The unique index on the case-normalized email.
+	 */
+	public static final String PERSON_EMAIL = "ux_person_email";
+
+	/**
+	 * The unique index on the case-normalized username.
+	 */
+	public static final String USER_NAME = "ux_user_info_user_name";
+
+	private UniqueConstraints() {
+	}
+
+	/**
+	 * @description Translates a data integrity violation into the matching API exception.
+	 * @param ex the data integrity violation
+	 * @return a UniqueEmailException or UniqueUserNameException if a known unique index
+	 * was violated, otherwise the violation itself
+	 */
+	public static RuntimeException translate(DataIntegrityViolationException ex) {
+		String constraintName = constraintName(ex);
+		if (PERSON_EMAIL.equals(constraintName)) {
+			return new UniqueEmailException();
+		}
+		if (USER_NAME.equals(constraintName)) {
+			return new UniqueUserNameException();
+		}
+		return ex;
+	}
+
+	/**
+	 * @description Finds the name of the violated constraint in the cause chain.
+	 * @param ex the data integrity violation
+	 * @return the constraint name, or null if it is unknown
+	 */
+	private static String constraintName(DataIntegrityViolationException ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConstraintViolationException violation) {
+				return violation.getConstraintName();
+			}
+		}
+		return null;
+	}
+
+}
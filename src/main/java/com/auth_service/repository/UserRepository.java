@@ -1,21 +1,98 @@
 package com.auth_service.repository;
 
+import com.auth_service.model.constants.Role;
 import com.auth_service.model.entity.User;
+import com.auth_service.model.response.UserSummary;
+import com.auth_service.model.security.AuthenticatedUser;
+import com.auth_service.model.security.LoginCredentials;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * UserRepository interface. Extends JpaRepository.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
 
-	User findByPersonEmail(String email);
+	@EntityGraph(attributePaths = "person")
+	Optional<User> findWithPersonById(Long id);
+
+	@Query("select new com.auth_service.model.security.AuthenticatedUser(u.id, u.userName, u.role, u.active) "
+			+ "from user_info u where lower(u.userName) = lower(:userName)")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	Optional<AuthenticatedUser> findPrincipalByUserName(@Param("userName") String userName);
+
+	@Query("select new com.auth_service.model.security.AuthenticatedUser(u.id, u.userName, u.role, u.active) "
+			+ "from user_info u where u.id in :ids")
+	List<AuthenticatedUser> findPrincipalsByIds(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Finds the login credentials of the user whose email or username matches the
+	 * identifier, ignoring case. Each branch of the union is answered by its own
+	 * expression index, and a match on the email wins over a match on the username.
+	 * @param identifier the email or username
+	 * @param limit the maximum number of candidates, normally one
+	 * @return the matching credentials, email match first
+	 */
+	@Query("select new com.auth_service.model.security.LoginCredentials("
+			+ "c.id, c.userName, c.password, c.role, c.active) from ("
+			+ "select u.id id, u.userName userName, u.password password, u.role role, u.active active, "
+			+ "0 priority from Person p join user_info u on u.person = p where lower(p.email) = lower(:identifier) "
+			+ "union all select u.id, u.userName, u.password, u.role, u.active, 1 from user_info u "
+			+ "where lower(u.userName) = lower(:identifier)) c order by c.priority")
+	List<LoginCredentials> findByLoginIdentifier(@Param("identifier") String identifier, Limit limit);
+
+	@Query("select new com.auth_service.model.response.UserSummary(u.id, u.userName, u.role, u.active, "
+			+ "p.firstName, p.lastName, p.email, p.phone) from user_info u left join u.person p "
+			+ "where u.id > :after order by u.id")
+	List<UserSummary> findPageAfter(@Param("after") Long after, Limit limit);
+
+	@Query("select new com.auth_service.model.response.UserSummary(u.id, u.userName, u.role, u.active, "
+			+ "p.firstName, p.lastName, p.email, p.phone) from user_info u left join u.person p order by u.id")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	Stream<UserSummary> streamAllSummaries();
+
+	@Query("select lower(u.userName) from user_info u where lower(u.userName) in :userNames")
+	List<String> findExistingUserNames(@Param("userNames") Collection<String> userNames);
+
+	@Query("select u from user_info u join fetch u.person where u.active = true order by u.id desc")
+	List<User> findActiveWithPersonNewestFirst(Limit limit);
 
-	User findByUserName(String userName);
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update user_info u set u.active = :active where u.id in :ids and u.active <> :active")
+	int updateActiveByIds(@Param("ids") Collection<Long> ids, @Param("active") boolean active);
 
-	boolean existsByPersonEmail(String email);
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update user_info u set u.active = :active where u.role = :role and u.active <> :active")
+	int updateActiveByRole(@Param("role") Role role, @Param("active") boolean active);
 
-	boolean existsByUserName(String userName);
+	/**
+	 * Deletes the users and their person rows in a single statement. The person rows are
+	 * deleted in a CTE and the user rows by the main statement, so the returned count is
+	 * the number of users deleted, including users without a person. The foreign key is
+	 * checked at the end of the statement, once both rows are gone.
+	 * @param ids the IDs of the users to delete
+	 * @return the number of users deleted
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "with deleted_person as (delete from person where id in "
+			+ "(select person_id from user_info where id in (:ids))) delete from user_info where id in (:ids)",
+			nativeQuery = true)
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_info"),
+			@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "person") })
+	int deleteWithPersonByIds(@Param("ids") Collection<Long> ids);
 
 }
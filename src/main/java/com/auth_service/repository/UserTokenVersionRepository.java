@@ -0,0 +1,35 @@
+package com.auth_service.repository;
+
+import com.auth_service.model.entity.UserTokenVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * UserTokenVersionRepository interface. Extends JpaRepository. Bumps are single upserts
+ * returning the new versions, so callers never read a version before changing it. They
+ * must run in a read-write transaction.
+ */
+@Repository
+public interface UserTokenVersionRepository extends JpaRepository<UserTokenVersion, Long> {
+
+	@Query(value = "insert into user_token_version (user_id, token_version, updated_at) "
+			+ "select id, 1, now() from user_info where id in (:userIds) "
+			+ "on conflict (user_id) do update set token_version = user_token_version.token_version + 1, "
+			+ "updated_at = excluded.updated_at returning *", nativeQuery = true)
+	List<UserTokenVersion> bumpByUserIds(@Param("userIds") Collection<Long> userIds);
+
+	@Query(value = "insert into user_token_version (user_id, token_version, updated_at) "
+			+ "select id, 1, now() from user_info where user_role = :role "
+			+ "on conflict (user_id) do update set token_version = user_token_version.token_version + 1, "
+			+ "updated_at = excluded.updated_at returning *", nativeQuery = true)
+	List<UserTokenVersion> bumpByRole(@Param("role") String role);
+
+	List<UserTokenVersion> findByUpdatedAtAfter(Instant updatedAt);
+
+}
@@ -1,24 +1,45 @@
 package com.auth_service.service.auth;
 
+import com.auth_service.model.response.TokenPair;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * AuthService interface. Contains methods for authenticating and refreshing JWT tokens.
  */
 public interface AuthService {
 
 	/**
-	 * Authenticates a user and returns a JWT token.
+	 * Authenticates a user and returns an access token and the first refresh token of a
+	 * new refresh token family. The password is verified on the password hashing pool.
 	 * @param identifier the user's identifier (email or username)
 	 * @param password the user's password
-	 * @return a JWT token
+	 * @return a future completing with the token pair
 	 */
-	String authenticate(String identifier, String password);
+	CompletableFuture<TokenPair> authenticate(String identifier, String password);
 
 	/**
-	 * Refreshes the JWT token using a refresh token.
+	 * Exchanges a refresh token for a new access token and a new refresh token. Each
+	 * refresh token can be used once; reusing one revokes its whole family.
 	 * @param refreshToken the refresh token
 	 * @param userName the username associated with the refresh token
-	 * @return a new JWT token
+	 * @return the new token pair
+	 */
+	TokenPair refreshToken(String refreshToken, String userName);
+
+	/**
+	 * Logs out by revoking the access token, and the family of the refresh token when one
+	 * is given and belongs to the same user.
+	 * @param accessToken the access token of the request
+	 * @param refreshToken the refresh token to revoke, or null
+	 */
+	void logout(String accessToken, String refreshToken);
+
+	/**
+	 * Logs a user out everywhere by bumping their token version. Every access and refresh
+	 * token issued to the user before is rejected.
+	 * @param userId the id of the authenticated user
 	 */
-	String refreshToken(String refreshToken, String userName);
+	void logoutEverywhere(Long userId);
 
 }
\ No newline at end of file
@@ -1,61 +1,169 @@
 package com.auth_service.service.auth;
 
 import com.auth_service.exception.InvalidCredentialsException;
+import com.auth_service.exception.PasswordHashingUnavailableException;
 import com.auth_service.exception.UserNotFoundException;
-import com.auth_service.model.entity.User;
+import com.auth_service.model.constants.Role;
+import com.auth_service.model.response.TokenPair;
+import com.auth_service.model.security.AuthenticatedUser;
+import com.auth_service.model.security.LoginCredentials;
 import com.auth_service.repository.UserRepository;
 import com.auth_service.common.util.jwt.JwtUtilImpl;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import com.auth_service.common.util.jwt.RefreshGrant;
+import com.auth_service.common.util.jwt.RefreshTokenStore;
+import com.auth_service.common.util.jwt.TokenDenylist;
+import com.auth_service.common.util.jwt.TokenVersionRegistry;
+import com.auth_service.common.util.jwt.VerifiedToken;
+import com.auth_service.common.util.password.PasswordHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Component
 public class AuthServiceImpl implements AuthService {
 
+	private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
+
 	private final JwtUtilImpl jwtUtil;
 
+	private final RefreshTokenStore refreshTokenStore;
+
+	private final TokenDenylist tokenDenylist;
+
+	private final TokenVersionRegistry tokenVersionRegistry;
+
 	private final UserRepository userRepository;
 
-	private final AuthenticationManager authenticationManager;
+	private final PasswordHasher passwordHasher;
+
+	private final TransactionTemplate transactionTemplate;
 
-	public AuthServiceImpl(JwtUtilImpl jwtUtil, UserRepository userRepository,
-			AuthenticationManager authenticationManager) {
+	private final Executor taskExecutor;
+
+	public AuthServiceImpl(JwtUtilImpl jwtUtil, RefreshTokenStore refreshTokenStore, TokenDenylist tokenDenylist,
+			TokenVersionRegistry tokenVersionRegistry, UserRepository userRepository, PasswordHasher passwordHasher,
+			TransactionTemplate transactionTemplate, @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
 		this.jwtUtil = jwtUtil;
+		this.refreshTokenStore = refreshTokenStore;
+		this.tokenDenylist = tokenDenylist;
+		this.tokenVersionRegistry = tokenVersionRegistry;
 		this.userRepository = userRepository;
-		this.authenticationManager = authenticationManager;
+		this.passwordHasher = passwordHasher;
+		this.transactionTemplate = transactionTemplate;
+		this.taskExecutor = taskExecutor;
 	}
 
-	public String authenticate(String identifier, String password) {
-		User user = findUserByIdentifier(identifier);
-		authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(identifier, password));
-		return jwtUtil.generateToken(identifier, user.getRole());
+	public CompletableFuture<TokenPair> authenticate(String identifier, String password) {
+		LoginCredentials credentials = findCredentialsByIdentifier(identifier);
+
+		return passwordHasher.matches(password, credentials.password()).thenApplyAsync(matches -> {
+			if (!matches || !credentials.isEnabled()) {
+				throw new InvalidCredentialsException();
+			}
+			upgradePasswordHash(credentials, password);
+			RefreshGrant grant = refreshTokenStore.open(credentials.id(), jwtUtil.refreshTokenExpiresAt());
+			return issueTokens(credentials.id(), credentials.userName(), credentials.role(), grant);
+		}, taskExecutor);
 	}
 
-	public String refreshToken(String refreshToken, String userName) {
-		if (jwtUtil.validateRefreshToken(refreshToken, userName)) {
-			String username = jwtUtil.extractUsername(refreshToken);
-			User user = findUserByIdentifier(username);
-			return jwtUtil.refreshToken(username, user.getRole());
+	public TokenPair refreshToken(String refreshToken, String userName) {
+		VerifiedToken verifiedToken = jwtUtil.verifyToken(refreshToken);
+		if (!verifiedToken.isRefreshToken() || !jwtUtil.validateToken(verifiedToken, userName)) {
+			throw new InvalidCredentialsException();
 		}
-		else {
+
+		String username = verifiedToken.getSubject();
+		AuthenticatedUser user = userRepository.findPrincipalByUserName(username)
+				.orElseThrow(UserNotFoundException::new);
+		if (!user.isEnabled() || !tokenVersionRegistry.isCurrent(user.getId(), verifiedToken.getVersion())) {
+			refreshTokenStore.revoke(verifiedToken.getFamilyId());
 			throw new InvalidCredentialsException();
 		}
+
+		RefreshGrant grant = refreshTokenStore.rotate(verifiedToken.getFamilyId(), verifiedToken.getTokenId(),
+				jwtUtil.refreshTokenExpiresAt());
+		return issueTokens(user.getId(), username, user.getRole(), grant);
+	}
+
+	public void logout(String accessToken, String refreshToken) {
+		VerifiedToken verifiedToken = jwtUtil.verifyToken(accessToken);
+		if (verifiedToken.getTokenId() != null) {
+			tokenDenylist.revoke(verifiedToken.getTokenId(), verifiedToken.getExpiration().toInstant());
+		}
+
+		if (refreshToken != null) {
+			VerifiedToken verifiedRefreshToken = jwtUtil.verifyToken(refreshToken);
+			if (verifiedRefreshToken.isRefreshToken()
+					&& verifiedRefreshToken.getSubject().equals(verifiedToken.getSubject())) {
+				refreshTokenStore.revoke(verifiedRefreshToken.getFamilyId());
+			}
+		}
+	}
+
+	public void logoutEverywhere(Long userId) {
+		transactionTemplate.executeWithoutResult(status -> tokenVersionRegistry.bump(List.of(userId)));
 	}
 
 	/**
-	 * Finds a user by email or username.
-	 * @param identifier the email or username of the user to find
-	 * @return the user entity
+	 * Signs a new access token and the refresh token of a grant.
+	 * @param userId the id of the user
+	 * @param userName the username of the user
+	 * @param role the role of the user
+	 * @param grant the refresh grant registered in the refresh token store
+	 * @return the token pair
+	 */
+	private TokenPair issueTokens(Long userId, String userName, Role role, RefreshGrant grant) {
+		return new TokenPair(jwtUtil.generateToken(userId, userName, role),
+				jwtUtil.refreshToken(userId, userName, role, grant));
+	}
+
+	/**
+	 * Hashes the password again in the background when the stored hash uses an older
+	 * format or a cost below the configured minimum. The stored hash is only replaced if
+	 * it has not been changed in the meantime. When the hashing pool is full the upgrade
+	 * is skipped and retried on a later login.
+	 * @param credentials the credentials of the authenticated user
+	 * @param rawPassword the verified raw password
 	 */
-	private User findUserByIdentifier(String identifier) {
-		User user = userRepository.findByPersonEmail(identifier);
-		if (user == null) {
-			user = userRepository.findByUserName(identifier);
+	private void upgradePasswordHash(LoginCredentials credentials, String rawPassword) {
+		String storedPassword = credentials.password();
+		if (!passwordHasher.upgradeEncoding(storedPassword)) {
+			return;
 		}
-		if (user == null) {
-			throw new UserNotFoundException();
+
+		try {
+			passwordHasher.encode(rawPassword)
+					.thenAcceptAsync(encodedPassword -> transactionTemplate
+							.executeWithoutResult(status -> userRepository.findById(credentials.id().intValue())
+									.filter(stored -> storedPassword.equals(stored.getPassword()))
+									.ifPresent(stored -> stored.setPassword(encodedPassword))),
+							taskExecutor)
+					.exceptionally(ex -> {
+						logger.warn("Failed to upgrade the password hash of user {}", credentials.id(), ex);
+						return null;
+					});
+		}
+		catch (PasswordHashingUnavailableException e) {
+			logger.debug("Skipped password hash upgrade of user {}: hashing pool is full", credentials.id());
 		}
-		return user;
+	}
+
+	/**
+	 * Finds the login credentials of a user by email or username in a single query,
+	 * preferring an email match.
+	 * @param identifier the email or username of the user to find
+	 * @return the login credentials
+	 */
+	private LoginCredentials findCredentialsByIdentifier(String identifier) {
+		return userRepository.findByLoginIdentifier(identifier, Limit.of(1)).stream().findFirst()
+				.orElseThrow(UserNotFoundException::new);
 	}
 
 }
\ No newline at end of file
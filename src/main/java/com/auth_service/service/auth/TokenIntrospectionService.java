@@ -0,0 +1,23 @@
+package com.auth_service.service.auth;
+
+import com.auth_service.model.response.IntrospectionResult;
+
+import java.util.List;
+
+/**
+ * TokenIntrospectionService interface. Contains methods for checking many access tokens
+ * at once on behalf of other services.
+ */
+public interface TokenIntrospectionService {
+
+	/**
+	 * Introspects the access tokens. Signatures are verified in parallel and the users of
+	 * all the tokens are loaded with a single query. A token is active when its signature
+	 * is valid, it is an unexpired access token, it has not been revoked, and its user
+	 * still exists and is active. Only admins may introspect tokens.
+	 * @param tokens the access tokens
+	 * @return one result per token, in the order of the tokens
+	 */
+	List<IntrospectionResult> introspect(List<String> tokens);
+
+}
@@ -0,0 +1,184 @@
+package com.auth_service.service.auth;
+
+import com.auth_service.common.util.jwt.JwtUtilImpl;
+import com.auth_service.common.util.jwt.TokenDenylist;
+import com.auth_service.common.util.jwt.TokenVersionRegistry;
+import com.auth_service.common.util.jwt.VerifiedToken;
+import com.auth_service.common.util.jwt.VerifiedTokenCache;
+import com.auth_service.exception.IntrospectionBatchTooLargeException;
+import com.auth_service.model.response.IntrospectionResult;
+import com.auth_service.model.security.AuthenticatedUser;
+import com.auth_service.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TokenIntrospectionServiceImpl implements TokenIntrospectionService {
+
+	/**
+	 * The fewest tokens verified by one task, so small batches are not split into tasks
+	 * costing more to schedule than to run.
+	 */
+	private static final int MIN_CHUNK_SIZE = 16;
+
+	private final JwtUtilImpl jwtUtil;
+
+	private final VerifiedTokenCache verifiedTokenCache;
+
+	private final TokenDenylist tokenDenylist;
+
+	private final TokenVersionRegistry tokenVersionRegistry;
+
+	private final UserRepository userRepository;
+
+	private final Executor taskExecutor;
+
+	private final int maxBatchSize;
+
+	public TokenIntrospectionServiceImpl(JwtUtilImpl jwtUtil, VerifiedTokenCache verifiedTokenCache,
+			TokenDenylist tokenDenylist, TokenVersionRegistry tokenVersionRegistry, UserRepository userRepository,
+			@Qualifier("applicationTaskExecutor") Executor taskExecutor,
+			@Value("${auth.introspect.max-batch-size}") int maxBatchSize) {
+		this.jwtUtil = jwtUtil;
+		this.verifiedTokenCache = verifiedTokenCache;
+		this.tokenDenylist = tokenDenylist;
+		this.tokenVersionRegistry = tokenVersionRegistry;
+		this.userRepository = userRepository;
+		this.taskExecutor = taskExecutor;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	public List<IntrospectionResult> introspect(List<String> tokens) {
+		if (tokens.size() > maxBatchSize) {
+			throw new IntrospectionBatchTooLargeException();
+		}
+		if (tokens.isEmpty()) {
+			return List.of();
+		}
+
+		List<VerifiedToken> verifiedTokens = verifyAll(tokens);
+		Map<Long, AuthenticatedUser> users = findUsers(verifiedTokens);
+
+		List<IntrospectionResult> results = new ArrayList<>(verifiedTokens.size());
+		for (VerifiedToken verifiedToken : verifiedTokens) {
+			results.add(toResult(verifiedToken, users));
+		}
+		return results;
+	}
+
+	/**
+	 * Verifies the tokens in chunks on the task executor, the last chunk on the calling
+	 * thread.
+	 * @param tokens the tokens to verify
+	 * @return the verified tokens, in the order of the tokens, with null for the tokens
+	 * that failed verification
+	 */
+	private List<VerifiedToken> verifyAll(List<String> tokens) {
+		VerifiedToken[] verifiedTokens = new VerifiedToken[tokens.size()];
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		int chunkSize = Math.max(MIN_CHUNK_SIZE, Math.ceilDiv(tokens.size(), parallelism));
+
+		List<CompletableFuture<Void>> chunks = new ArrayList<>();
+		int from = 0;
+		for (; from + chunkSize < tokens.size(); from += chunkSize) {
+			int start = from;
+			chunks.add(CompletableFuture.runAsync(() -> verifyRange(tokens, verifiedTokens, start, start + chunkSize),
+					taskExecutor));
+		}
+		verifyRange(tokens, verifiedTokens, from, tokens.size());
+		CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+
+		return Arrays.asList(verifiedTokens);
+	}
+
+	/**
+	 * Verifies a range of the tokens.
+	 * @param tokens the tokens
+	 * @param verifiedTokens the array receiving the verified tokens
+	 * @param from the index of the first token, inclusive
+	 * @param to the index of the last token, exclusive
+	 */
+	private void verifyRange(List<String> tokens, VerifiedToken[] verifiedTokens, int from, int to) {
+		for (int i = from; i < to; i++) {
+			verifiedTokens[i] = verifyQuietly(tokens.get(i));
+		}
+	}
+
+	/**
+	 * Verifies a token, reusing the verified token cache.
+	 * @param token the token
+	 * @return the verified token, or null if the token is missing or fails verification
+	 */
+	private VerifiedToken verifyQuietly(String token) {
+		if (token == null || token.isEmpty()) {
+			return null;
+		}
+
+		try {
+			return verifiedTokenCache.get(token, jwtUtil::verifyToken);
+		}
+		catch (RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Loads the users of the verified tokens with one query.
+	 * @param verifiedTokens the verified tokens
+	 * @return the users by id
+	 */
+	private Map<Long, AuthenticatedUser> findUsers(List<VerifiedToken> verifiedTokens) {
+		Set<Long> userIds = new HashSet<>();
+		for (VerifiedToken verifiedToken : verifiedTokens) {
+			if (verifiedToken != null && verifiedToken.getUserId() != null) {
+				userIds.add(verifiedToken.getUserId());
+			}
+		}
+		if (userIds.isEmpty()) {
+			return Map.of();
+		}
+
+		return userRepository.findPrincipalsByIds(userIds).stream()
+				.collect(Collectors.toMap(AuthenticatedUser::getId, Function.identity()));
+	}
+
+	/**
+	 * Builds the result of one token. Tokens without a user id claim predate it and are
+	 * reported inactive.
+	 * @param verifiedToken the verified token, or null if it failed verification
+	 * @param users the users of the tokens by id
+	 * @return the introspection result
+	 */
+	private IntrospectionResult toResult(VerifiedToken verifiedToken, Map<Long, AuthenticatedUser> users) {
+		if (verifiedToken == null || verifiedToken.isRefreshToken() || verifiedToken.isExpired()
+				|| verifiedToken.getUserId() == null || tokenDenylist.isRevoked(verifiedToken.getTokenId())
+				|| !tokenVersionRegistry.isCurrent(verifiedToken.getUserId(), verifiedToken.getVersion())) {
+			return IntrospectionResult.INACTIVE;
+		}
+
+		AuthenticatedUser user = users.get(verifiedToken.getUserId());
+		if (user == null || !user.isEnabled() || !user.getUserName().equals(verifiedToken.getSubject())) {
+			return IntrospectionResult.INACTIVE;
+		}
+
+		Long expiresAt = verifiedToken.getExpiration() != null
+				? TimeUnit.MILLISECONDS.toSeconds(verifiedToken.getExpiration().getTime()) : null;
+		return new IntrospectionResult(true, user.getUserName(), user.getRole(), expiresAt);
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.auth_service.service.user;
+
+import com.auth_service.model.dto.UserSelectionRequest;
+import com.auth_service.model.entity.User;
+import com.auth_service.model.response.BulkDeleteResult;
+import com.auth_service.model.response.BulkImportResult;
+import com.auth_service.model.response.BulkUpdateResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * UserBulkService interface. Defines the operations applied to many users at once.
+ */
+public interface UserBulkService {
+
+	/**
+	 * Imports many users at once. Each row is validated on its own, so invalid or
+	 * duplicate rows are reported without failing the others. The import runs off the
+	 * calling thread.
+	 * @param users the users to import
+	 * @return a future completing with the number of users created and the rejected rows
+	 */
+	CompletableFuture<BulkImportResult> importUsers(List<User> users);
+
+	/**
+	 * Activates or deactivates the selected users in a single update statement. Users
+	 * already in the requested state are not counted.
+	 * @param selection the IDs or the role of the users to update, exactly one of them
+	 * @param active true to activate the users, false to deactivate them
+	 * @return the number of users updated
+	 * @throws com.auth_service.exception.InvalidBulkRequestException if the selection has
+	 * both or neither selector, or an empty or oversized list of IDs
+	 */
+	BulkUpdateResult setActive(UserSelectionRequest selection, boolean active);
+
+	/**
+	 * Deletes the given users and their person in a single statement. Unknown IDs are
+	 * ignored.
+	 * @param ids the IDs of the users to delete
+	 * @return the number of users deleted
+	 * @throws com.auth_service.exception.InvalidBulkRequestException if the IDs are
+	 * missing, empty or more than the bulk limit
+	 */
+	BulkDeleteResult deleteUsers(List<Long> ids);
+
+}
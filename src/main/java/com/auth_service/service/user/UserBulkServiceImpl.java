@@ -0,0 +1,345 @@
+package com.auth_service.service.user;
+
+import com.auth_service.common.util.jwt.TokenVersionRegistry;
+import com.auth_service.common.util.password.PasswordHasher;
+import com.auth_service.exception.BulkImportTooLargeException;
+import com.auth_service.exception.InvalidBulkRequestException;
+import com.auth_service.exception.UniqueEmailException;
+import com.auth_service.exception.UniqueUserNameException;
+import com.auth_service.model.constants.ErrorCode;
+import com.auth_service.model.constants.ErrorMessages;
+import com.auth_service.model.constants.Role;
+import com.auth_service.model.dto.UserSelectionRequest;
+import com.auth_service.model.entity.User;
+import com.auth_service.model.response.BulkDeleteResult;
+import com.auth_service.model.response.BulkImportError;
+import com.auth_service.model.response.BulkImportResult;
+import com.auth_service.model.response.BulkUpdateResult;
+import com.auth_service.repository.PersonRepository;
+import com.auth_service.repository.UniqueConstraints;
+import com.auth_service.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+@Service
+public class UserBulkServiceImpl implements UserBulkService {
+
+	private static final Logger logger = LoggerFactory.getLogger(UserBulkServiceImpl.class);
+
+	private final UserRepository userRepository;
+
+	private final PersonRepository personRepository;
+
+	private final PasswordHasher passwordHasher;
+
+	private final TokenVersionRegistry tokenVersionRegistry;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final Validator validator;
+
+	private final Executor taskExecutor;
+
+	private final int maxSize;
+
+	private final int chunkSize;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public UserBulkServiceImpl(UserRepository userRepository, PersonRepository personRepository,
+			PasswordHasher passwordHasher, TokenVersionRegistry tokenVersionRegistry,
+			TransactionTemplate transactionTemplate, Validator validator,
+			@Qualifier("applicationTaskExecutor") Executor taskExecutor,
+			@Value("${auth.users.bulk.max-size}") int maxSize, @Value("${auth.users.bulk.chunk-size}") int chunkSize) {
+		this.userRepository = userRepository;
+		this.personRepository = personRepository;
+		this.passwordHasher = passwordHasher;
+		this.tokenVersionRegistry = tokenVersionRegistry;
+		this.transactionTemplate = transactionTemplate;
+		this.validator = validator;
+		this.taskExecutor = taskExecutor;
+		this.maxSize = maxSize;
+		this.chunkSize = chunkSize;
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	public CompletableFuture<BulkImportResult> importUsers(List<User> users) {
+		if (users.size() > maxSize) {
+			throw new BulkImportTooLargeException();
+		}
+		if (users.contains(null)) {
+			throw new InvalidBulkRequestException(ErrorMessages.BULK_IMPORT_NULL_USER);
+		}
+
+		List<BulkImportError> errors = new ArrayList<>();
+		Set<String> seenEmails = new HashSet<>();
+		Set<String> seenUserNames = new HashSet<>();
+		CompletableFuture<Integer> created = CompletableFuture.completedFuture(0);
+
+		for (int from = 0; from < users.size(); from += chunkSize) {
+			List<Row> chunk = new ArrayList<>();
+			for (int index = from; index < Math.min(from + chunkSize, users.size()); index++) {
+				chunk.add(new Row(index, users.get(index)));
+			}
+			created = created.thenComposeAsync(
+					total -> importChunk(chunk, seenEmails, seenUserNames, errors).thenApply(count -> total + count),
+					taskExecutor);
+		}
+
+		return created.thenApply(total -> new BulkImportResult(total, errors));
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	public BulkUpdateResult setActive(UserSelectionRequest selection, boolean active) {
+		if ((selection.getIds() != null) == (selection.getRole() != null)) {
+			throw new InvalidBulkRequestException(ErrorMessages.USER_SELECTION_INVALID);
+		}
+		if (selection.getIds() != null) {
+			validateIds(selection.getIds());
+		}
+
+		Integer updated = transactionTemplate.execute(status -> {
+			if (selection.getRole() != null) {
+				if (!active) {
+					tokenVersionRegistry.bump(selection.getRole());
+				}
+				return userRepository.updateActiveByRole(selection.getRole(), active);
+			}
+			if (!active) {
+				tokenVersionRegistry.bump(selection.getIds());
+			}
+			return userRepository.updateActiveByIds(selection.getIds(), active);
+		});
+		return new BulkUpdateResult(updated != null ? updated : 0);
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	public BulkDeleteResult deleteUsers(List<Long> ids) {
+		validateIds(ids);
+		Integer deleted = transactionTemplate.execute(status -> {
+			tokenVersionRegistry.bump(ids);
+			return userRepository.deleteWithPersonByIds(ids);
+		});
+		return new BulkDeleteResult(deleted != null ? deleted : 0);
+	}
+
+	/**
+	 * Checks that a list of user IDs is given, not empty, holds no null and is not larger
+	 * than the bulk limit, so it can be sent as an {@code in} list.
+	 * @param ids the user IDs
+	 * @throws InvalidBulkRequestException if the list is missing, empty, holds a null or
+	 * is too large
+	 */
+	private void validateIds(List<Long> ids) {
+		if (ids == null || ids.isEmpty() || ids.contains(null)) {
+			throw new InvalidBulkRequestException(ErrorMessages.USER_IDS_EMPTY);
+		}
+		if (ids.size() > maxSize) {
+			throw new InvalidBulkRequestException(ErrorMessages.USER_IDS_TOO_MANY);
+		}
+	}
+
+	/**
+	 * Validates, hashes and inserts one chunk of rows. Uniqueness is checked with one
+	 * query per column for the whole chunk, and the accepted rows are inserted in a
+	 * single transaction so Hibernate can batch the statements. The passwords are hashed
+	 * on the hashing pool and the rows are inserted on the task executor once they are.
+	 * @param chunk the rows of the chunk
+	 * @param seenEmails the emails accepted so far in this import
+	 * @param seenUserNames the usernames accepted so far in this import
+	 * @param errors the list collecting the rejected rows
+	 * @return a future completing with the number of users created
+	 */
+	private CompletableFuture<Integer> importChunk(List<Row> chunk, Set<String> seenEmails, Set<String> seenUserNames,
+			List<BulkImportError> errors) {
+		List<Row> validRows = new ArrayList<>();
+		for (Row row : chunk) {
+			String violation = validate(row.user());
+			if (violation != null) {
+				errors.add(new BulkImportError(row.index(), null, violation));
+			}
+			else {
+				validRows.add(row);
+			}
+		}
+
+		if (validRows.isEmpty()) {
+			return CompletableFuture.completedFuture(0);
+		}
+
+		Set<String> existingEmails = new HashSet<>(
+				personRepository.findExistingEmails(validRows.stream().map(Row::normalizedEmail).toList()));
+		Set<String> existingUserNames = new HashSet<>(
+				userRepository.findExistingUserNames(validRows.stream().map(Row::normalizedUserName).toList()));
+
+		List<Row> acceptedRows = new ArrayList<>();
+		for (Row row : validRows) {
+			String email = row.normalizedEmail();
+			String userName = row.normalizedUserName();
+
+			if (existingEmails.contains(email) || seenEmails.contains(email)) {
+				errors.add(new BulkImportError(row.index(), ErrorCode.ERR_EMAIL_EXISTS.getCode(),
+						ErrorMessages.EMAIL_EXISTS));
+			}
+			else if (existingUserNames.contains(userName) || seenUserNames.contains(userName)) {
+				errors.add(new BulkImportError(row.index(), ErrorCode.ERR_USERNAME_EXISTS.getCode(),
+						ErrorMessages.USERNAME_EXISTS));
+			}
+			else {
+				seenEmails.add(email);
+				seenUserNames.add(userName);
+				acceptedRows.add(row);
+			}
+		}
+
+		if (acceptedRows.isEmpty()) {
+			return CompletableFuture.completedFuture(0);
+		}
+
+		return passwordHasher.encodeAll(acceptedRows.stream().map(row -> row.user().getPassword()).toList())
+				.thenApplyAsync(encodedPasswords -> {
+					for (int i = 0; i < acceptedRows.size(); i++) {
+						User user = acceptedRows.get(i).user();
+						user.setPassword(encodedPasswords.get(i));
+						if (user.getRole() == null) {
+							user.setRole(Role.USER);
+						}
+						if (user.getActive() == null) {
+							user.setActive(true);
+						}
+					}
+					return insert(acceptedRows, errors);
+				}, taskExecutor);
+	}
+
+	/**
+	 * Inserts the rows in one transaction. If the transaction fails, the rows are
+	 * inserted again one by one, so only the failing rows are reported. Identifiers sent
+	 * with the rows are cleared first, so an import always creates new users and never
+	 * merges into existing ones.
+	 * @param rows the rows to insert
+	 * @param errors the list collecting the rejected rows
+	 * @return the number of users created
+	 */
+	private int insert(List<Row> rows, List<BulkImportError> errors) {
+		rows.forEach(row -> resetIds(row.user()));
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				userRepository.saveAll(rows.stream().map(Row::user).toList());
+				userRepository.flush();
+			});
+			return rows.size();
+		}
+		catch (RuntimeException e) {
+			logger.warn("Bulk insert of {} users failed, retrying row by row", rows.size(), e);
+		}
+		finally {
+			entityManager.clear();
+		}
+
+		int created = 0;
+		for (Row row : rows) {
+			resetIds(row.user());
+			try {
+				transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(row.user()));
+				created++;
+			}
+			catch (DataIntegrityViolationException e) {
+				errors.add(toImportError(row, UniqueConstraints.translate(e)));
+			}
+			catch (RuntimeException e) {
+				errors.add(toImportError(row, e));
+			}
+			finally {
+				entityManager.clear();
+			}
+		}
+		return created;
+	}
+
+	/**
+	 * Describes why inserting a row failed.
+	 * @param row the row that failed
+	 * @param ex the failure
+	 * @return the import error of the row
+	 */
+	private BulkImportError toImportError(Row row, RuntimeException ex) {
+		if (ex instanceof UniqueEmailException) {
+			return new BulkImportError(row.index(), ErrorCode.ERR_EMAIL_EXISTS.getCode(), ErrorMessages.EMAIL_EXISTS);
+		}
+		if (ex instanceof UniqueUserNameException) {
+			return new BulkImportError(row.index(), ErrorCode.ERR_USERNAME_EXISTS.getCode(),
+					ErrorMessages.USERNAME_EXISTS);
+		}
+		logger.warn("Bulk insert of row {} failed", row.index(), ex);
+		return new BulkImportError(row.index(), ErrorCode.ERR_INTERNAL_SERVER.getCode(), ErrorMessages.UNKNOWN_ERROR);
+	}
+
+	/**
+	 * Validates the bean constraints of a user and its person.
+	 * @param user the user to validate
+	 * @return the joined violation messages, or null if the user is valid
+	 */
+	private String validate(User user) {
+		Set<ConstraintViolation<User>> violations = validator.validate(user);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream().map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+				.sorted().collect(Collectors.joining(", "));
+	}
+
+	/**
+	 * Clears the identifiers sent with a row or assigned by a rolled back insert, so the
+	 * entities are persisted as new.
+	 * @param user the user to reset
+	 */
+	private void resetIds(User user) {
+		user.setId(null);
+		user.getPerson().setId(null);
+	}
+
+	/**
+	 * Row record. A user of the import together with its index in the request.
+	 */
+	private record Row(int index, User user) {
+
+		/**
+		 * Gets the email in the case-insensitive form it is unique in.
+		 * @return the lower-cased email
+		 */
+		String normalizedEmail() {
+			return user.getPerson().getEmail().toLowerCase(Locale.ROOT);
+		}
+
+		/**
+		 * Gets the username in the case-insensitive form it is unique in.
+		 * @return the lower-cased username
+		 */
+		String normalizedUserName() {
+			return user.getUserName().toLowerCase(Locale.ROOT);
+		}
+
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.auth_service.service.user;
+
+import com.auth_service.model.entity.User;
+import com.auth_service.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * UserCacheWarmer class. Optionally preloads the most recently created active users and
+ * their person into the second-level cache once the application is ready, so the first
+ * lookups by id after a deploy do not all miss.
+ */
+@Component
+public class UserCacheWarmer {
+
+	private static final Logger logger = LoggerFactory.getLogger(UserCacheWarmer.class);
+
+	private final UserRepository userRepository;
+
+	private final boolean enabled;
+
+	private final int size;
+
+	public UserCacheWarmer(UserRepository userRepository, @Value("${auth.cache.warm-up.enabled}") boolean enabled,
+			@Value("${auth.cache.warm-up.size}") int size) {
+		this.userRepository = userRepository;
+		this.enabled = enabled;
+		this.size = size;
+	}
+
+	/**
+	 * Loads the users into the entity cache when the application is ready, with a single
+	 * query fetching each user together with its person.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		if (!enabled || size <= 0) {
+			return;
+		}
+
+		List<User> users = userRepository.findActiveWithPersonNewestFirst(Limit.of(size));
+		logger.info("Preloaded {} users into the entity cache", users.size());
+	}
+
+}
@@ -1,9 +1,12 @@
 package com.auth_service.service.user;
 
 import com.auth_service.model.entity.User;
+import com.auth_service.model.response.CursorPage;
+import com.auth_service.model.response.UserSummary;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * UserService interface. Defines the methods that the UserService class must implement.
@@ -18,11 +21,11 @@ public interface UserService extends UserDetailsService {
 	User findById(int id);
 
 	/**
-	 * Creates a new user.
+	 * Creates a new user. The password is hashed on the password hashing pool.
 	 * @param user the user entity to create
-	 * @return the created user entity
+	 * @return a future completing with the created user entity
 	 */
-	User save(User user);
+	CompletableFuture<User> save(User user);
 
 	/**
 	 * Deletes a user by ID.
@@ -31,10 +34,21 @@ public interface UserService extends UserDetailsService {
 	void deleteById(int id);
 
 	/**
-	 * Retrieves all users.
-	 * @return the list of users
+	 * Retrieves a page of users ordered by ID, starting after the given cursor.
+	 * @param after the ID of the last user of the previous page, or null for the first
+	 * page
+	 * @param limit the maximum number of users to return, capped by the configured page
+	 * size
+	 * @return the page of users with the cursor of the next page
 	 */
-	List<User> findAll();
+	CursorPage<UserSummary> findAll(Long after, int limit);
+
+	/**
+	 * Streams every user ordered by ID to the given consumer, reading them from a
+	 * database cursor so memory does not grow with the number of users.
+	 * @param consumer the consumer of each user
+	 */
+	void streamAll(Consumer<UserSummary> consumer);
 
 	/**
 	 * Activates a user by ID.
@@ -1,68 +1,83 @@
 package com.auth_service.service.user;
 
+import com.auth_service.common.util.jwt.TokenVersionRegistry;
+import com.auth_service.common.util.password.PasswordHasher;
 import com.auth_service.exception.PersonNotFoundException;
-import com.auth_service.exception.UniqueEmailException;
-import com.auth_service.exception.UniqueUserNameException;
 import com.auth_service.exception.UserNotFoundException;
 import com.auth_service.model.constants.ErrorMessages;
 import com.auth_service.model.constants.Role;
 import com.auth_service.model.entity.User;
-import com.auth_service.repository.PersonRepository;
+import com.auth_service.model.response.CursorPage;
+import com.auth_service.model.response.UserSummary;
+import com.auth_service.model.security.AuthenticatedUser;
+import com.auth_service.repository.UniqueConstraints;
 import com.auth_service.repository.UserRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserServiceImpl implements UserService {
 
 	private final UserRepository userRepository;
 
-	private final PersonRepository personRepository;
+	private final PasswordHasher passwordHasher;
 
-	private final BCryptPasswordEncoder passwordEncoder;
+	private final TokenVersionRegistry tokenVersionRegistry;
 
-	public UserServiceImpl(UserRepository userRepository, PersonRepository personRepository,
-			BCryptPasswordEncoder passwordEncoder) {
+	private final TransactionTemplate transactionTemplate;
+
+	private final TransactionTemplate readOnlyTransactionTemplate;
+
+	private final Executor taskExecutor;
+
+	private final int maxPageSize;
+
+	public UserServiceImpl(UserRepository userRepository, PasswordHasher passwordHasher,
+			TokenVersionRegistry tokenVersionRegistry, TransactionTemplate transactionTemplate,
+			@Qualifier("applicationTaskExecutor") Executor taskExecutor,
+			@Value("${auth.users.page.max-size}") int maxPageSize) {
 		this.userRepository = userRepository;
-		this.personRepository = personRepository;
-		this.passwordEncoder = passwordEncoder;
+		this.passwordHasher = passwordHasher;
+		this.tokenVersionRegistry = tokenVersionRegistry;
+		this.transactionTemplate = transactionTemplate;
+		this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+		this.readOnlyTransactionTemplate.setReadOnly(true);
+		this.taskExecutor = taskExecutor;
+		this.maxPageSize = maxPageSize;
 	}
 
 	public User findById(int id) {
-		User currentUser = getCurrentUser();
+		AuthenticatedUser currentUser = getCurrentUser();
 		validateAccess(currentUser, id);
 
-		User user = userRepository.findById(id).orElseThrow(UserNotFoundException::new);
+		User user = userRepository.findWithPersonById((long) id).orElseThrow(UserNotFoundException::new);
 		validateUser(user);
 
 		return user;
 	}
 
-	@Transactional
-	public User save(User user) {
+	public CompletableFuture<User> save(User user) {
 		if (user.getPerson() == null) {
 			throw new PersonNotFoundException();
 		}
 
-		if (emailExists(user.getPerson().getEmail())) {
-			throw new UniqueEmailException();
-		}
-
-		if (userNameExists(user.getUserName())) {
-			throw new UniqueUserNameException();
-		}
-
-		user.setPassword(passwordEncoder.encode(user.getPassword()));
 		if (user.getRole() == null) {
 			// user.setRole(Role.USER);
 			user.setRole(Role.ADMIN);
@@ -71,93 +86,93 @@ public class UserServiceImpl implements UserService {
 			user.setActive(true);
 		}
 
-		personRepository.save(user.getPerson());
-		return userRepository.save(user);
+		return passwordHasher.encode(user.getPassword()).thenApplyAsync(encodedPassword -> {
+			user.setPassword(encodedPassword);
+			try {
+				return transactionTemplate.execute(status -> userRepository.saveAndFlush(user));
+			}
+			catch (DataIntegrityViolationException e) {
+				throw UniqueConstraints.translate(e);
+			}
+		}, taskExecutor);
 	}
 
 	@Transactional
 	@PreAuthorize("hasRole('ADMIN')")
 	public void deleteById(int id) {
-		User user = userRepository.findById(id).orElse(null);
-
-		if (user == null) {
+		tokenVersionRegistry.bump(List.of((long) id));
+		if (userRepository.deleteWithPersonByIds(List.of((long) id)) == 0) {
 			throw new UserNotFoundException();
 		}
-
-		if (user.getPerson() == null) {
-			throw new PersonNotFoundException();
-		}
-
-		personRepository.deleteById(user.getPerson().getId());
-		userRepository.deleteById(id);
 	}
 
 	@PreAuthorize("hasRole('ADMIN')")
-	public List<User> findAll() {
-		List<User> users = userRepository.findAll();
+	public CursorPage<UserSummary> findAll(Long after, int limit) {
+		int pageSize = Math.clamp(limit, 1, maxPageSize);
+		List<UserSummary> users = userRepository.findPageAfter(after != null ? after : 0L, Limit.of(pageSize));
 
-		if (users.isEmpty()) {
+		if (users.isEmpty() && after == null) {
 			throw new UserNotFoundException();
 		}
 
-		return userRepository.findAll();
+		Long nextCursor = users.size() == pageSize ? users.get(users.size() - 1).id() : null;
+		return new CursorPage<>(users, nextCursor);
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	public void streamAll(Consumer<UserSummary> consumer) {
+		readOnlyTransactionTemplate.executeWithoutResult(status -> {
+			try (Stream<UserSummary> users = userRepository.streamAllSummaries()) {
+				users.forEach(consumer);
+			}
+		});
 	}
 
 	@Transactional
 	@PreAuthorize("hasRole('ADMIN')")
 	public String activateUser(int id) {
-		User user = userRepository.findById(id).orElseThrow(UserNotFoundException::new);
-
-		if (user.getActive()) {
-			return "User is already active";
+		if (userRepository.updateActiveByIds(List.of((long) id), true) > 0) {
+			return "User activated";
 		}
 
-		user.setActive(true);
-		userRepository.save(user);
-		return "User activated";
+		if (!userRepository.existsById(id)) {
+			throw new UserNotFoundException();
+		}
+		return "User is already active";
 	}
 
 	/**
-	 * Loads a user by username.
+	 * Loads a user by username, reading only the columns of the principal.
 	 * @param userName the username of the user to load
 	 * @return the user details
 	 * @throws UsernameNotFoundException if the username is not found
 	 */
 	@Override
 	public UserDetails loadUserByUsername(String userName) throws UsernameNotFoundException {
-		User user = userRepository.findByUserName(userName);
-		if (user == null) {
-			throw new UsernameNotFoundException(ErrorMessages.USERNAME_NOT_FOUND);
-		}
-		return user;
-	}
-
-	/**
-	 * Checks if an email already exists.
-	 * @param email the email to check
-	 * @return true if the email exists, false otherwise
-	 */
-	private boolean emailExists(String email) {
-		return userRepository.existsByPersonEmail(email);
+		return userRepository.findPrincipalByUserName(userName)
+				.orElseThrow(() -> new UsernameNotFoundException(ErrorMessages.USERNAME_NOT_FOUND));
 	}
 
 	/**
-	 * Checks if a userName already exists.
-	 * @param userName the userName to check
-	 * @return true if the userName exists, false otherwise
-	 */
-	private boolean userNameExists(String userName) {
-		return userRepository.existsByUserName(userName);
-	}
-
-	/**
-	 * Retrieves the current logged user.
+	 * Retrieves the current logged user from the security context principal, querying the
+	 * database only when the principal does not carry the user id and role.
 	 * @return the current user
 	 */
-	private User getCurrentUser() {
+	private AuthenticatedUser getCurrentUser() {
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-		return userRepository.findByUserName(userDetails.getUsername());
+		Object principal = authentication.getPrincipal();
+
+		if (principal instanceof AuthenticatedUser authenticatedUser) {
+			return authenticatedUser;
+		}
+
+		if (principal instanceof User user) {
+			return AuthenticatedUser.from(user);
+		}
+
+		UserDetails userDetails = (UserDetails) principal;
+		return userRepository.findPrincipalByUserName(userDetails.getUsername())
+				.orElseThrow(UserNotFoundException::new);
 	}
 
 	/**
@@ -165,7 +180,7 @@ public class UserServiceImpl implements UserService {
 	 * @param currentUser the current user
 	 * @param userId the ID of the user to validate access
 	 */
-	private void validateAccess(User currentUser, int userId) {
+	private void validateAccess(AuthenticatedUser currentUser, int userId) {
 		boolean isAdmin = currentUser.getRole() == Role.ADMIN;
 
 		if (!isAdmin && currentUser.getId() != userId) {
@@ -0,0 +1,26 @@
+-- Baseline of the schema previously generated by Hibernate. Every statement is
+-- idempotent, so databases created by ddl-auto are adopted without changes.
+
+create sequence if not exists person_seq start with 1 increment by 50;
+
+create sequence if not exists user_info_seq start with 1 increment by 50;
+
+create table if not exists person (
+    id bigint not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    email varchar(255) not null,
+    phone varchar(255) not null,
+    primary key (id)
+);
+
+create table if not exists user_info (
+    id bigint not null,
+    user_name varchar(255) not null,
+    password varchar(255) not null,
+    person_id bigint,
+    active boolean not null,
+    user_role varchar(255) not null check (user_role in ('USER', 'ADMIN')),
+    primary key (id),
+    constraint fk_user_info_person foreign key (person_id) references person (id)
+);
@@ -0,0 +1,14 @@
+-- Unique, case-normalized lookup keys. Creation fails if existing rows differ
+-- only by case; resolve those duplicates before migrating.
+
+-- Covers the principal and login lookups by username, so they are answered
+-- from the index alone.
+create unique index if not exists ux_user_info_user_name
+    on user_info (lower(user_name)) include (id, password, user_role, active);
+
+create unique index if not exists ux_person_email
+    on person (lower(email));
+
+-- Foreign key index, also enforcing the one-to-one relation.
+create unique index if not exists ux_user_info_person_id
+    on user_info (person_id);
@@ -0,0 +1,18 @@
+-- Databases created by ddl-auto carry unique constraints with generated names on
+-- user_info.user_name and user_info.person_id. The ux_ indexes from V2 enforce the
+-- same rules, so the generated constraints are dropped and every violation reports
+-- a known constraint name.
+
+do $$
+declare
+    generated record;
+begin
+    for generated in
+        select conrelid::regclass as table_name, conname
+        from pg_constraint
+        where contype = 'u'
+          and conrelid in ('user_info'::regclass, 'person'::regclass)
+    loop
+        execute format('alter table %s drop constraint %I', generated.table_name, generated.conname);
+    end loop;
+end $$;
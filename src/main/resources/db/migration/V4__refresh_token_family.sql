@@ -0,0 +1,21 @@
+-- One row per refresh token family: the chain of refresh tokens issued from a single
+-- login. Only the id of the latest token is kept, so presenting any earlier token of
+-- the family is detected as reuse.
+
+create table if not exists refresh_token_family (
+    family_id uuid not null,
+    user_id bigint not null,
+    current_token_id uuid not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked boolean not null default false,
+    primary key (family_id),
+    constraint fk_refresh_token_family_user foreign key (user_id) references user_info (id) on delete cascade
+);
+
+-- Lets the sweeper find expired families without scanning the table.
+create index if not exists ix_refresh_token_family_expires_at
+    on refresh_token_family (expires_at);
+
+-- Foreign key index, used when a user is deleted.
+create index if not exists ix_refresh_token_family_user_id
+    on refresh_token_family (user_id);
@@ -0,0 +1,21 @@
+-- Revoked access tokens, kept until the token expires. The version orders the rows so
+-- each replica only reads the revocations added since its last sync.
+
+create table if not exists access_token_revocation (
+    version bigint generated always as identity,
+    token_id uuid not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone not null default now(),
+    primary key (version)
+);
+
+create unique index if not exists ux_access_token_revocation_token_id
+    on access_token_revocation (token_id);
+
+-- Lets the sweeper find expired revocations without scanning the table.
+create index if not exists ix_access_token_revocation_expires_at
+    on access_token_revocation (expires_at);
+
+-- Lets the sync re-read recent revocations committed out of version order.
+create index if not exists ix_access_token_revocation_revoked_at
+    on access_token_revocation (revoked_at);
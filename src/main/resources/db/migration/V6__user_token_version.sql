@@ -0,0 +1,15 @@
+-- Per-user token version. Tokens carry the version current when they were signed and
+-- are rejected once it has been bumped. Rows have no foreign key so that bumps made
+-- when deleting a user outlive the user row; only users whose version was ever bumped
+-- have a row.
+
+create table if not exists user_token_version (
+    user_id bigint not null,
+    token_version integer not null,
+    updated_at timestamp(6) with time zone not null,
+    primary key (user_id)
+);
+
+-- Lets each replica read the bumps made since its last sync.
+create index if not exists ix_user_token_version_updated_at
+    on user_token_version (updated_at);
@@ -0,0 +1,64 @@
+package com.auth_service.common.util.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MappedBloomFilterTest class. Exercises the filter on a file in a temporary directory.
+ */
+class MappedBloomFilterTest {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void putCountsAnIdOnce() throws IOException {
+		MappedBloomFilter filter = MappedBloomFilter.open(directory.resolve("filter.bloom"), 100, 0.01);
+		UUID id = UUID.randomUUID();
+
+		assertThat(filter.put(id)).isTrue();
+		assertThat(filter.put(id)).isFalse();
+
+		assertThat(filter.size()).isEqualTo(1);
+		assertThat(filter.mightContain(id)).isTrue();
+	}
+
+	@Test
+	void openKeepsTheIdsAndVersionOfAMatchingFile() throws IOException {
+		Path path = directory.resolve("filter.bloom");
+		MappedBloomFilter filter = MappedBloomFilter.open(path, 100, 0.01);
+		UUID id = UUID.randomUUID();
+		filter.put(id);
+		filter.setVersion(42);
+		filter.force();
+
+		MappedBloomFilter reopened = MappedBloomFilter.open(path, 100, 0.01);
+
+		assertThat(reopened.mightContain(id)).isTrue();
+		assertThat(reopened.getVersion()).isEqualTo(42);
+		assertThat(reopened.size()).isEqualTo(1);
+	}
+
+	@Test
+	void openResetsAFileOfOtherDimensions() throws IOException {
+		Path path = directory.resolve("filter.bloom");
+		MappedBloomFilter filter = MappedBloomFilter.open(path, 100, 0.01);
+		UUID id = UUID.randomUUID();
+		filter.put(id);
+		filter.setVersion(42);
+		filter.force();
+
+		MappedBloomFilter resized = MappedBloomFilter.open(path, 1000, 0.01);
+
+		assertThat(resized.mightContain(id)).isFalse();
+		assertThat(resized.getVersion()).isZero();
+		assertThat(resized.size()).isZero();
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.auth_service.common.util.jwt;
+
+import com.auth_service.exception.InvalidCredentialsException;
+import com.auth_service.model.constants.Role;
+import com.auth_service.model.entity.Person;
+import com.auth_service.model.entity.RefreshTokenFamily;
+import com.auth_service.model.entity.User;
+import com.auth_service.repository.RefreshTokenFamilyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * RefreshTokenStoreTest class. Rotates refresh token families against an embedded
+ * PostgreSQL migrated by Flyway, checking that a reused token revokes its whole family.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+class RefreshTokenStoreTest {
+
+	private static final Duration VALIDITY = Duration.ofHours(1);
+
+	@Autowired
+	private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private MeterRegistry meterRegistry;
+
+	private RefreshTokenStore refreshTokenStore;
+
+	private Long userId;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		refreshTokenStore = new RefreshTokenStore(refreshTokenFamilyRepository,
+				new TransactionTemplate(transactionManager), 100, 100, meterRegistry);
+		userId = persistUser("alice", "alice@example.com").getId();
+	}
+
+	@Test
+	void rotateReplacesTheCurrentToken() {
+		RefreshGrant first = refreshTokenStore.open(userId, expiresAt());
+
+		RefreshGrant second = refreshTokenStore.rotate(first.familyId(), first.tokenId(), expiresAt());
+		RefreshGrant third = refreshTokenStore.rotate(second.familyId(), second.tokenId(), expiresAt());
+
+		assertThat(second.familyId()).isEqualTo(first.familyId());
+		assertThat(second.tokenId()).isNotEqualTo(first.tokenId());
+		assertThat(findFamily(first.familyId()).getCurrentTokenId()).isEqualTo(third.tokenId());
+		assertThat(findFamily(first.familyId()).isRevoked()).isFalse();
+	}
+
+	@Test
+	void rotateOfAReusedTokenRevokesTheFamily() {
+		RefreshGrant first = refreshTokenStore.open(userId, expiresAt());
+		RefreshGrant second = refreshTokenStore.rotate(first.familyId(), first.tokenId(), expiresAt());
+
+		assertThatThrownBy(() -> refreshTokenStore.rotate(first.familyId(), first.tokenId(), expiresAt()))
+				.isInstanceOf(InvalidCredentialsException.class);
+		assertThatThrownBy(() -> refreshTokenStore.rotate(second.familyId(), second.tokenId(), expiresAt()))
+				.isInstanceOf(InvalidCredentialsException.class);
+
+		assertThat(findFamily(first.familyId()).isRevoked()).isTrue();
+		assertThat(meterRegistry.get("auth.refresh.token.reuse").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void rotateLeavesOtherFamiliesOfTheUserUntouched() {
+		RefreshGrant reused = refreshTokenStore.open(userId, expiresAt());
+		RefreshGrant other = refreshTokenStore.open(userId, expiresAt());
+		refreshTokenStore.rotate(reused.familyId(), reused.tokenId(), expiresAt());
+
+		assertThatThrownBy(() -> refreshTokenStore.rotate(reused.familyId(), reused.tokenId(), expiresAt()))
+				.isInstanceOf(InvalidCredentialsException.class);
+
+		assertThat(refreshTokenStore.rotate(other.familyId(), other.tokenId(), expiresAt()).familyId())
+				.isEqualTo(other.familyId());
+	}
+
+	@Test
+	void rotateRejectsRevokedFamilyWithoutCountingReuse() {
+		RefreshGrant grant = refreshTokenStore.open(userId, expiresAt());
+
+		assertThat(refreshTokenStore.revoke(grant.familyId())).isTrue();
+
+		assertThatThrownBy(() -> refreshTokenStore.rotate(grant.familyId(), grant.tokenId(), expiresAt()))
+				.isInstanceOf(InvalidCredentialsException.class);
+		assertThat(refreshTokenStore.revoke(grant.familyId())).isFalse();
+		assertThat(meterRegistry.get("auth.refresh.token.reuse").counter().count()).isZero();
+	}
+
+	/**
+	 * Reads a family from the database, bypassing entities loaded before the updates.
+	 * @param familyId the id of the family
+	 * @return the family
+	 */
+	private RefreshTokenFamily findFamily(UUID familyId) {
+		entityManager.clear();
+		return refreshTokenFamilyRepository.findById(familyId).orElseThrow();
+	}
+
+	private Instant expiresAt() {
+		return Instant.now().plus(VALIDITY);
+	}
+
+	/**
+	 * Persists an active user with a person.
+	 * @param userName the username
+	 * @param email the email of the person
+	 * @return the persisted user
+	 */
+	private User persistUser(String userName, String email) {
+		Person person = new Person();
+		person.setFirstName("First");
+		person.setLastName("Last");
+		person.setEmail(email);
+		person.setPhone("555-0100");
+		User user = new User(null, userName, "{bcrypt}hash", person, true, Role.USER);
+		entityManager.persist(user);
+		entityManager.flush();
+		return user;
+	}
+
+}
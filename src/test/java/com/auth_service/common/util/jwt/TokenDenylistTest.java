@@ -0,0 +1,141 @@
+package com.auth_service.common.util.jwt;
+
+import com.auth_service.repository.AccessTokenRevocationRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TokenDenylistTest class. Revokes access tokens against an embedded PostgreSQL migrated
+ * by Flyway, each denylist mapping its own Bloom filter file as separate instances do.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+class TokenDenylistTest {
+
+	private static final long EXPECTED_INSERTIONS = 8;
+
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+
+	@Autowired
+	private AccessTokenRevocationRepository accessTokenRevocationRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void revokeRejectsTheTokenAtOnce() {
+		TokenDenylist denylist = newDenylist("instance.bloom");
+		UUID tokenId = UUID.randomUUID();
+
+		denylist.revoke(tokenId, Instant.now().plus(Duration.ofHours(1)));
+
+		assertThat(denylist.isRevoked(tokenId)).isTrue();
+		assertThat(denylist.isRevoked(UUID.randomUUID())).isFalse();
+		assertThat(denylist.isRevoked(null)).isFalse();
+	}
+
+	@Test
+	void syncReadsTheRevocationsOfOtherInstances() {
+		TokenDenylist revoking = newDenylist("revoking.bloom");
+		TokenDenylist other = newDenylist("other.bloom");
+		UUID tokenId = UUID.randomUUID();
+
+		revoking.revoke(tokenId, Instant.now().plus(Duration.ofHours(1)));
+		assertThat(other.isRevoked(tokenId)).isFalse();
+
+		other.sync();
+
+		assertThat(other.isRevoked(tokenId)).isTrue();
+	}
+
+	@Test
+	void initLoadsOnlyTheRevocationsOfUnexpiredTokens() {
+		TokenDenylist revoking = newDenylist("revoking.bloom");
+		UUID liveTokenId = UUID.randomUUID();
+		UUID expiredTokenId = UUID.randomUUID();
+		revoking.revoke(liveTokenId, Instant.now().plus(Duration.ofHours(1)));
+		revoking.revoke(expiredTokenId, Instant.now().minus(Duration.ofMinutes(1)));
+
+		TokenDenylist restarted = newDenylist("restarted.bloom");
+
+		assertThat(restarted.isRevoked(liveTokenId)).isTrue();
+		assertThat(restarted.isRevoked(expiredTokenId)).isFalse();
+	}
+
+	@Test
+	void syncRebuildsTheFilterFromTheTokensStillRevoked() throws IOException {
+		TokenDenylist denylist = newDenylist("instance.bloom");
+		for (int i = 0; i <= EXPECTED_INSERTIONS; i++) {
+			denylist.revoke(UUID.randomUUID(), Instant.now().minus(Duration.ofMinutes(1)));
+		}
+		UUID liveTokenId = UUID.randomUUID();
+		denylist.revoke(liveTokenId, Instant.now().plus(Duration.ofHours(1)));
+
+		denylist.sync();
+
+		assertThat(openFilter("instance.bloom").size()).isEqualTo(1);
+		assertThat(denylist.isRevoked(liveTokenId)).isTrue();
+	}
+
+	@Test
+	void syncDoesNotRebuildWhenMoreTokensAreRevokedThanExpected() throws IOException {
+		TokenDenylist denylist = newDenylist("instance.bloom");
+		List<UUID> tokenIds = new ArrayList<>();
+		for (int i = 0; i <= EXPECTED_INSERTIONS; i++) {
+			UUID tokenId = UUID.randomUUID();
+			denylist.revoke(tokenId, Instant.now().plus(Duration.ofHours(1)));
+			tokenIds.add(tokenId);
+		}
+		MappedBloomFilter filter = openFilter("instance.bloom");
+		UUID strayId = UUID.randomUUID();
+		filter.put(strayId);
+
+		denylist.sync();
+
+		assertThat(filter.mightContain(strayId)).isTrue();
+		assertThat(tokenIds).allMatch(denylist::isRevoked);
+	}
+
+	/**
+	 * Creates and initializes a denylist mapping its own filter file.
+	 * @param fileName the name of the filter file in the temporary directory
+	 * @return the denylist
+	 */
+	private TokenDenylist newDenylist(String fileName) {
+		TokenDenylist denylist = new TokenDenylist(accessTokenRevocationRepository,
+				new TransactionTemplate(transactionManager), directory.resolve(fileName), EXPECTED_INSERTIONS,
+				FALSE_POSITIVE_RATE, 100);
+		denylist.init();
+		return denylist;
+	}
+
+	/**
+	 * Maps a filter file a second time, sharing the pages of the denylist using it.
+	 * @param fileName the name of the filter file in the temporary directory
+	 * @return the filter
+	 * @throws IOException if the file cannot be mapped
+	 */
+	private MappedBloomFilter openFilter(String fileName) throws IOException {
+		return MappedBloomFilter.open(directory.resolve(fileName), EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+	}
+
+}
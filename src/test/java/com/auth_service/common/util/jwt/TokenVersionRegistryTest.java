@@ -0,0 +1,148 @@
+package com.auth_service.common.util.jwt;
+
+import com.auth_service.model.constants.Role;
+import com.auth_service.model.entity.Person;
+import com.auth_service.model.entity.User;
+import com.auth_service.repository.UserRepository;
+import com.auth_service.repository.UserTokenVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TokenVersionRegistryTest class. Bumps token versions against an embedded PostgreSQL
+ * migrated by Flyway. Runs outside the test transaction, since bumps only take effect
+ * once they commit, so the rows are committed and deleted after each test.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenVersionRegistryTest {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserTokenVersionRepository userTokenVersionRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	private TokenVersionRegistry registry;
+
+	private JwtUtilImpl jwtUtil;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		byte[] secret = new byte[64];
+		new SecureRandom().nextBytes(secret);
+		System.setProperty("JWT_SECRET", Base64.getEncoder().encodeToString(secret));
+		System.setProperty("AUTH_SERVICE_ACCESS_TOKEN_VALIDITY", String.valueOf(TimeUnit.HOURS.toSeconds(1)));
+
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		registry = newRegistry();
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		JwtTokenEngine tokenEngine = new JwtTokenEngine(new VerifiedTokenCache(false, 100, meterRegistry));
+		tokenEngine.init();
+		jwtUtil = new JwtUtilImpl(tokenEngine, registry, meterRegistry);
+		user = transactionTemplate.execute(status -> userRepository.save(newUser("alice", "alice@example.com")));
+	}
+
+	@AfterEach
+	void tearDown() {
+		transactionTemplate.executeWithoutResult(status -> {
+			userTokenVersionRepository.deleteAllById(List.of(user.getId()));
+			userRepository.deleteWithPersonByIds(List.of(user.getId()));
+		});
+	}
+
+	@Test
+	void bumpRejectsTokensSignedBefore() {
+		VerifiedToken before = jwtUtil.verifyToken(jwtUtil.generateToken(user.getId(), "alice", Role.USER));
+		assertThat(registry.isCurrent(user.getId(), before.getVersion())).isTrue();
+
+		transactionTemplate.executeWithoutResult(status -> registry.bump(List.of(user.getId())));
+
+		VerifiedToken after = jwtUtil.verifyToken(jwtUtil.generateToken(user.getId(), "alice", Role.USER));
+		assertThat(registry.isCurrent(user.getId(), before.getVersion())).isFalse();
+		assertThat(registry.isCurrent(user.getId(), after.getVersion())).isTrue();
+		assertThat(after.getVersion()).isEqualTo(before.getVersion() + 1);
+	}
+
+	@Test
+	void bumpRolledBackIsNotApplied() {
+		transactionTemplate.executeWithoutResult(status -> {
+			registry.bump(List.of(user.getId()));
+			status.setRollbackOnly();
+		});
+
+		assertThat(registry.current(user.getId())).isZero();
+		assertThat(registry.isCurrent(user.getId(), 0)).isTrue();
+	}
+
+	@Test
+	void syncReadsTheBumpsOfOtherInstances() {
+		TokenVersionRegistry other = newRegistry();
+
+		transactionTemplate.executeWithoutResult(status -> registry.bump(List.of(user.getId())));
+		assertThat(other.isCurrent(user.getId(), 0)).isTrue();
+
+		other.sync();
+
+		assertThat(other.isCurrent(user.getId(), 0)).isFalse();
+		assertThat(other.current(user.getId())).isEqualTo(1);
+	}
+
+	@Test
+	void bumpByRoleRejectsTokensOfEveryUserWithTheRole() {
+		transactionTemplate.executeWithoutResult(status -> registry.bump(Role.USER));
+
+		assertThat(registry.isCurrent(user.getId(), 0)).isFalse();
+	}
+
+	/**
+	 * Creates and initializes a registry, as an instance does at startup.
+	 * @return the registry
+	 */
+	private TokenVersionRegistry newRegistry() {
+		TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry(userTokenVersionRepository);
+		tokenVersionRegistry.init();
+		return tokenVersionRegistry;
+	}
+
+	/**
+	 * Creates an active user with a person, not yet persisted.
+	 * @param userName the username
+	 * @param email the email of the person
+	 * @return the new user
+	 */
+	private User newUser(String userName, String email) {
+		Person person = new Person();
+		person.setFirstName("First");
+		person.setLastName("Last");
+		person.setEmail(email);
+		person.setPhone("555-0100");
+		return new User(null, userName, "{bcrypt}hash", person, true, Role.USER);
+	}
+
+}
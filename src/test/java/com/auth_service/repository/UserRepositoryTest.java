@@ -0,0 +1,205 @@
+package com.auth_service.repository;
+
+import com.auth_service.model.constants.Role;
+import com.auth_service.model.entity.Person;
+import com.auth_service.model.entity.User;
+import com.auth_service.model.security.LoginCredentials;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UserRepositoryTest class. Runs the repository queries against an embedded PostgreSQL
+ * migrated by Flyway, and counts the JDBC statements each one prepares through the
+ * Hibernate statistics.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+class UserRepositoryTest {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void findByLoginIdentifierResolvesEmailInOneStatement() {
+		User user = persistUser("alice", "Alice@Example.com");
+		startCounting();
+
+		List<LoginCredentials> credentials = userRepository.findByLoginIdentifier("alice@example.COM", Limit.of(1));
+
+		assertThat(credentials).extracting(LoginCredentials::id).containsExactly(user.getId());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void findByLoginIdentifierResolvesUserNameInOneStatement() {
+		User user = persistUser("Bob", "bob@example.com");
+		startCounting();
+
+		List<LoginCredentials> credentials = userRepository.findByLoginIdentifier("BOB", Limit.of(1));
+
+		assertThat(credentials).singleElement().satisfies(credential -> {
+			assertThat(credential.id()).isEqualTo(user.getId());
+			assertThat(credential.userName()).isEqualTo("Bob");
+			assertThat(credential.role()).isEqualTo(Role.USER);
+			assertThat(credential.isEnabled()).isTrue();
+		});
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void findByLoginIdentifierPrefersEmailMatch() {
+		persistUser("carol@example.com", "carol.other@example.com");
+		User emailOwner = persistUser("carol", "carol@example.com");
+		startCounting();
+
+		List<LoginCredentials> credentials = userRepository.findByLoginIdentifier("carol@example.com", Limit.of(1));
+
+		assertThat(credentials).extracting(LoginCredentials::id).containsExactly(emailOwner.getId());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void findByLoginIdentifierReturnsNothingForUnknownIdentifier() {
+		persistUser("dave", "dave@example.com");
+		startCounting();
+
+		assertThat(userRepository.findByLoginIdentifier("erin", Limit.of(1))).isEmpty();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	/**
+	 * Runs outside the test transaction: Hibernate does not cache entities inserted by
+	 * the transaction loading them, so the users are committed first and deleted after.
+	 */
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void findActiveWithPersonNewestFirstWarmsEntityCacheInOneStatement() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		User older = transactionTemplate.execute(status -> userRepository.save(newUser("henry", "henry@example.com")));
+		User newer = transactionTemplate.execute(status -> userRepository.save(newUser("irene", "irene@example.com")));
+		try {
+			startCounting();
+
+			List<User> users = userRepository.findActiveWithPersonNewestFirst(Limit.of(2));
+
+			assertThat(users).extracting(User::getId).containsExactly(newer.getId(), older.getId());
+			assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+			assertThat(entityManagerFactory.getCache().contains(User.class, older.getId())).isTrue();
+			assertThat(entityManagerFactory.getCache().contains(Person.class, older.getPerson().getId())).isTrue();
+		}
+		finally {
+			transactionTemplate.executeWithoutResult(
+					status -> userRepository.deleteWithPersonByIds(List.of(older.getId(), newer.getId())));
+		}
+	}
+
+	@Test
+	void deleteWithPersonByIdsDeletesUsersAndPersonsInOneStatement() {
+		User alice = persistUser("alice", "alice@example.com");
+		User bob = persistUser("bob", "bob@example.com");
+		startCounting();
+
+		int deleted = userRepository.deleteWithPersonByIds(List.of(alice.getId(), bob.getId()));
+
+		assertThat(deleted).isEqualTo(2);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(entityManager.find(User.class, alice.getId())).isNull();
+		assertThat(entityManager.find(Person.class, alice.getPerson().getId())).isNull();
+		assertThat(entityManager.find(Person.class, bob.getPerson().getId())).isNull();
+	}
+
+	@Test
+	void deleteWithPersonByIdsCountsUsersWithoutPerson() {
+		long id = 1_000L;
+		entityManager.getEntityManager()
+				.createNativeQuery("insert into user_info (id, user_name, password, active, user_role) "
+						+ "values (:id, 'frank', '{bcrypt}hash', true, 'USER')")
+				.setParameter("id", id).executeUpdate();
+		startCounting();
+
+		assertThat(userRepository.deleteWithPersonByIds(List.of(id))).isEqualTo(1);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(entityManager.find(User.class, id)).isNull();
+	}
+
+	@Test
+	void deleteWithPersonByIdsReturnsZeroForUnknownIds() {
+		persistUser("grace", "grace@example.com");
+		startCounting();
+
+		assertThat(userRepository.deleteWithPersonByIds(List.of(-1L))).isZero();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	/**
+	 * Persists an active user with a person and detaches it, so later reads hit the
+	 * database.
+	 * @param userName the username
+	 * @param email the email of the person
+	 * @return the persisted user
+	 */
+	private User persistUser(String userName, String email) {
+		User user = newUser(userName, email);
+		entityManager.persist(user);
+		entityManager.flush();
+		entityManager.clear();
+		return user;
+	}
+
+	/**
+	 * Creates an active user with a person, not yet persisted.
+	 * @param userName the username
+	 * @param email the email of the person
+	 * @return the new user
+	 */
+	private User newUser(String userName, String email) {
+		Person person = new Person();
+		person.setFirstName("First");
+		person.setLastName("Last");
+		person.setEmail(email);
+		person.setPhone("555-0100");
+		return new User(null, userName, "{bcrypt}hash", person, true, Role.USER);
+	}
+
+	/**
+	 * Resets the statistics so only the statements of the code under test are counted.
+	 */
+	private void startCounting() {
+		entityManagerFactory.getCache().evictAll();
+		statistics.clear();
+	}
+
+}
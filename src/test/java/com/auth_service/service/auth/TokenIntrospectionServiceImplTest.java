@@ -0,0 +1,197 @@
+package com.auth_service.service.auth;
+
+import com.auth_service.common.util.jwt.JwtTokenEngine;
+import com.auth_service.common.util.jwt.JwtUtilImpl;
+import com.auth_service.common.util.jwt.RefreshGrant;
+import com.auth_service.common.util.jwt.TokenDenylist;
+import com.auth_service.common.util.jwt.TokenVersionRegistry;
+import com.auth_service.common.util.jwt.VerifiedToken;
+import com.auth_service.common.util.jwt.VerifiedTokenCache;
+import com.auth_service.exception.IntrospectionBatchTooLargeException;
+import com.auth_service.model.constants.Role;
+import com.auth_service.model.entity.Person;
+import com.auth_service.model.entity.User;
+import com.auth_service.model.response.IntrospectionResult;
+import com.auth_service.repository.AccessTokenRevocationRepository;
+import com.auth_service.repository.UserRepository;
+import com.auth_service.repository.UserTokenVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TokenIntrospectionServiceImplTest class. Introspects batches of tokens signed with a
+ * random secret, resolving their users from an embedded PostgreSQL migrated by Flyway.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+class TokenIntrospectionServiceImplTest {
+
+	private static final int MAX_BATCH_SIZE = 100;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserTokenVersionRepository userTokenVersionRepository;
+
+	@Autowired
+	private AccessTokenRevocationRepository accessTokenRevocationRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@TempDir
+	private Path directory;
+
+	private ExecutorService taskExecutor;
+
+	private JwtUtilImpl jwtUtil;
+
+	private TokenDenylist tokenDenylist;
+
+	private TokenIntrospectionServiceImpl introspectionService;
+
+	@BeforeEach
+	void setUp() {
+		byte[] secret = new byte[64];
+		new SecureRandom().nextBytes(secret);
+		System.setProperty("JWT_SECRET", Base64.getEncoder().encodeToString(secret));
+		System.setProperty("AUTH_SERVICE_ACCESS_TOKEN_VALIDITY", String.valueOf(TimeUnit.HOURS.toSeconds(1)));
+
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(true, 100, meterRegistry);
+		JwtTokenEngine tokenEngine = new JwtTokenEngine(verifiedTokenCache);
+		tokenEngine.init();
+		TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry(userTokenVersionRepository);
+		tokenVersionRegistry.init();
+		jwtUtil = new JwtUtilImpl(tokenEngine, tokenVersionRegistry, meterRegistry);
+		tokenDenylist = new TokenDenylist(accessTokenRevocationRepository, new TransactionTemplate(transactionManager),
+				directory.resolve("denylist.bloom"), 1000, 0.001, 100);
+		tokenDenylist.init();
+		taskExecutor = Executors.newFixedThreadPool(4);
+		introspectionService = new TokenIntrospectionServiceImpl(jwtUtil, verifiedTokenCache, tokenDenylist,
+				tokenVersionRegistry, userRepository, taskExecutor, MAX_BATCH_SIZE);
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskExecutor.shutdownNow();
+	}
+
+	@Test
+	void introspectReturnsOneResultPerTokenInTheirOrder() {
+		User alice = persistUser("alice", "alice@example.com", Role.USER, true);
+		User bob = persistUser("bob", "bob@example.com", Role.ADMIN, true);
+		String aliceToken = jwtUtil.generateToken(alice.getId(), "alice", Role.USER);
+		String bobToken = jwtUtil.generateToken(bob.getId(), "bob", Role.ADMIN);
+
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+			tokens.add(switch (i % 3) {
+			case 0 -> aliceToken;
+			case 1 -> bobToken;
+			default -> "not-a-token-" + i;
+			});
+		}
+
+		List<IntrospectionResult> results = introspectionService.introspect(tokens);
+
+		assertThat(results).hasSize(tokens.size());
+		for (int i = 0; i < results.size(); i++) {
+			IntrospectionResult result = results.get(i);
+			switch (i % 3) {
+			case 0 -> assertThat(result)
+					.extracting(IntrospectionResult::active, IntrospectionResult::sub, IntrospectionResult::role)
+					.containsExactly(true, "alice", Role.USER);
+			case 1 -> assertThat(result)
+					.extracting(IntrospectionResult::active, IntrospectionResult::sub, IntrospectionResult::role)
+					.containsExactly(true, "bob", Role.ADMIN);
+			default -> assertThat(result).isEqualTo(IntrospectionResult.INACTIVE);
+			}
+		}
+	}
+
+	@Test
+	void introspectReportsUnusableTokensInactive() {
+		User alice = persistUser("alice", "alice@example.com", Role.USER, true);
+		User carol = persistUser("carol", "carol@example.com", Role.USER, false);
+		String activeToken = jwtUtil.generateToken(alice.getId(), "alice", Role.USER);
+		String revokedToken = jwtUtil.generateToken(alice.getId(), "alice", Role.USER);
+		VerifiedToken revoked = jwtUtil.verifyToken(revokedToken);
+		tokenDenylist.revoke(revoked.getTokenId(), revoked.getExpiration().toInstant());
+		String refreshToken = jwtUtil.refreshToken(alice.getId(), "alice", Role.USER,
+				new RefreshGrant(UUID.randomUUID(), UUID.randomUUID(), Instant.now().plus(Duration.ofHours(1))));
+		String inactiveUserToken = jwtUtil.generateToken(carol.getId(), "carol", Role.USER);
+		String unknownUserToken = jwtUtil.generateToken(-1L, "dave", Role.USER);
+
+		List<IntrospectionResult> results = introspectionService.introspect(
+				Arrays.asList(activeToken, revokedToken, refreshToken, inactiveUserToken, unknownUserToken, null, ""));
+
+		assertThat(results).extracting(IntrospectionResult::active).containsExactly(true, false, false, false, false,
+				false, false);
+	}
+
+	@Test
+	void introspectRejectsBatchesLargerThanTheMaximum() {
+		List<String> tokens = Collections.nCopies(MAX_BATCH_SIZE + 1, "token");
+
+		assertThatThrownBy(() -> introspectionService.introspect(tokens))
+				.isInstanceOf(IntrospectionBatchTooLargeException.class);
+	}
+
+	@Test
+	void introspectReturnsNothingForAnEmptyBatch() {
+		assertThat(introspectionService.introspect(List.of())).isEmpty();
+	}
+
+	/**
+	 * Persists a user with a person.
+	 * @param userName the username
+	 * @param email the email of the person
+	 * @param role the role of the user
+	 * @param active whether the user is active
+	 * @return the persisted user
+	 */
+	private User persistUser(String userName, String email, Role role, boolean active) {
+		Person person = new Person();
+		person.setFirstName("First");
+		person.setLastName("Last");
+		person.setEmail(email);
+		person.setPhone("555-0100");
+		User user = new User(null, userName, "{bcrypt}hash", person, active, role);
+		entityManager.persist(user);
+		entityManager.flush();
+		return user;
+	}
+
+}